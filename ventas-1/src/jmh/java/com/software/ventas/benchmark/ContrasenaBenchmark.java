@@ -0,0 +1,68 @@
+package com.software.ventas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.software.ventas.entity.Cliente;
+
+/**
+ * Benchmarks of the password verification done on every login.
+ * {@code verificarUsuario} is the path of {@link com.software.ventas.service.AutenticacionService} with its shared encoder,
+ * {@code verificarCodificadorNuevo} reproduces the previous code that created an encoder on each call,
+ * and {@code fuerza} shows the cost of each BCrypt cost factor accepted by {@code ventas.seguridad.bcrypt-fuerza}.
+ */
+
+/**
+ * Benchmarks de la verificación de contraseña hecha en cada inicio de sesión.
+ * {@code verificarUsuario} es el camino de {@link com.software.ventas.service.AutenticacionService} con su codificador compartido,
+ * {@code verificarCodificadorNuevo} reproduce el código anterior que creaba un codificador en cada llamada,
+ * y {@code fuerza} muestra el costo de cada factor aceptado por {@code ventas.seguridad.bcrypt-fuerza}.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContrasenaBenchmark {
+
+    private static final String CONTRASENA = "contraseña-de-prueba";
+
+    @Param({"8", "10", "12"})
+    private int fuerza;
+
+    private BCryptPasswordEncoder codificador;
+
+    private Cliente cliente;
+
+    @Setup
+    public void preparar() {
+        codificador = new BCryptPasswordEncoder(fuerza);
+        cliente = new Cliente();
+        cliente.asignarHash(codificador.encode(CONTRASENA));
+    }
+
+    @Benchmark
+    public boolean verificarUsuario() {
+        return codificador.matches(CONTRASENA, cliente.getHashcontraseña());
+    }
+
+    @Benchmark
+    public boolean verificarCodificadorNuevo() {
+        return new BCryptPasswordEncoder().matches(CONTRASENA, cliente.getHashcontraseña());
+    }
+
+}
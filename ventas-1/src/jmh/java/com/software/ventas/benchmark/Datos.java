@@ -0,0 +1,34 @@
+package com.software.ventas.benchmark;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ * The products cycle through every {@link Categoria}, {@link Genero} and {@link Talla} so each filter matches a stable fraction of the catalog.
+ */
+
+/**
+ * Datos de prueba deterministas compartidos por los benchmarks.
+ * Los productos recorren cada {@link Categoria}, {@link Genero} y {@link Talla} para que cada filtro coincida con una fracción estable del catálogo.
+ */
+
+final class Datos {
+
+    private static final String[] MARCAS = {"Nike", "Adidas", "Puma", "Reebok", "New Balance"};
+
+    private Datos() {
+    }
+
+    static Producto producto(int i) {
+        Categoria[] categorias = Categoria.values();
+        Genero[] generos = Genero.values();
+        Talla[] tallas = Talla.values();
+        return new Producto(null, "Producto " + i, 50_000.0 + (i % 200) * 1_000, "imagen-" + i + ".png",
+                "Descripción del producto " + i, 10 + i % 50,
+                generos[i % generos.length], categorias[i % categorias.length], MARCAS[i % MARCAS.length], tallas[i % tallas.length]);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.software.ventas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.software.ventas.entity.Carrito;
+import com.software.ventas.entity.Cliente;
+import com.software.ventas.entity.Item;
+
+/**
+ * Benchmarks of the totals computed by the entities: {@link Carrito#setTotal()} over carts of different sizes
+ * and {@link Item#setSubtotal()}.
+ */
+
+/**
+ * Benchmarks de los totales calculados por las entidades: {@link Carrito#setTotal()} sobre carritos de distintos tamaños
+ * e {@link Item#setSubtotal()}.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntidadesBenchmark {
+
+    @Param({"10", "100"})
+    private int items;
+
+    private Carrito carrito;
+
+    private Item item;
+
+    @Setup
+    public void preparar() {
+        carrito = new Carrito(new Cliente());
+        for (int i = 0; i < items; i++) {
+            carrito.getItems().add(new Item(1 + i % 3, Datos.producto(i), carrito));
+        }
+        item = carrito.getItems().get(0);
+    }
+
+    @Benchmark
+    public Double totalCarrito() {
+        carrito.setTotal();
+        return carrito.getTotal();
+    }
+
+    @Benchmark
+    public Double subtotalItem() {
+        item.setSubtotal();
+        return item.getSubtotal();
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.software.ventas.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.software.ventas.VentasApplication;
+import com.software.ventas.entity.Producto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Benchmarks of the insert throughput of products through JPA, where the only difference between both cases is the id strategy.
+ * {@code identidad} persists {@link ProductoIdentidad}, mapped with {@code GenerationType.IDENTITY}, and {@code tabla} persists
+ * {@link ProductoTabla}, mapped with the table generator of {@link Producto}. Both call {@link EntityManager#persist(Object)} for
+ * {@code filas} products in a single transaction with the batch size of the application, and the tables are emptied before each call.
+ *
+ * <p>An embedded database hides the cost that IDENTITY adds, one round trip per row, so {@code latenciaMicros} sleeps before every
+ * statement sent through the application {@code DataSource}. The id blocks of {@code tabla} are reserved on the separate pool of the
+ * generator, which is not delayed; with {@link com.software.ventas.entity.Secuencias#BLOQUE} ids per block that is one reservation
+ * per call. With {@code -Dinsercion.url},
+ * {@code -Dinsercion.usuario} and {@code -Dinsercion.contrasena} the benchmark runs against a real server instead of H2.
+ * The schema is created and dropped on each trial, so it must be an empty schema used only for benchmarking.</p>
+ */
+
+/**
+ * Benchmarks del rendimiento de inserción de productos con JPA, donde la única diferencia entre ambos casos es la estrategia del id.
+ * {@code identidad} persiste {@link ProductoIdentidad}, mapeado con {@code GenerationType.IDENTITY}, y {@code tabla} persiste
+ * {@link ProductoTabla}, mapeado con el generador por tabla de {@link Producto}. Ambos llaman a {@link EntityManager#persist(Object)} para
+ * {@code filas} productos en una sola transacción con el tamaño de lote de la aplicación, y las tablas se vacían antes de cada llamada.
+ *
+ * <p>Una base de datos embebida oculta el costo que agrega IDENTITY, un viaje por fila, así que {@code latenciaMicros} espera antes de cada
+ * sentencia enviada por el {@code DataSource} de la aplicación. Los bloques de ids de {@code tabla} se reservan en el pool aparte del
+ * generador, que no se retrasa; con {@link com.software.ventas.entity.Secuencias#BLOQUE} ids por bloque es una reserva por llamada. Con {@code -Dinsercion.url},
+ * {@code -Dinsercion.usuario} y {@code -Dinsercion.contrasena} el benchmark se ejecuta contra un servidor real en lugar de H2.
+ * El esquema se crea y se elimina en cada prueba, así que debe ser un esquema vacío usado solo para benchmarks.</p>
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercionBenchmark {
+
+    @Param({"500"})
+    private int filas;
+
+    // 0 mide solo la base de datos embebida; 500 µs se acerca a un viaje de red dentro del mismo centro de datos
+    @Param({"0", "500"})
+    private long latenciaMicros;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EntityManager entityManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaccion;
+
+    private List<Producto> productos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        SpringApplication aplicacion = new SpringApplication(VentasApplication.class);
+        aplicacion.addInitializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(latenciaDeRed(latenciaMicros)));
+        contexto = aplicacion.run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + System.getProperty("insercion.url",
+                        "jdbc:h2:mem:insercion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                "--spring.datasource.username=" + System.getProperty("insercion.usuario", "sa"),
+                "--spring.datasource.password=" + System.getProperty("insercion.contrasena", ""),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.cache.type=none",
+                "--logging.level.root=WARN");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        productos = new ArrayList<>();
+        for (int i = 0; i < filas; i++) {
+            productos.add(Datos.producto(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void vaciar() {
+        jdbcTemplate.execute("TRUNCATE TABLE producto_identidad");
+        jdbcTemplate.execute("TRUNCATE TABLE producto_tabla");
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int identidad() {
+        return persistir(ProductoIdentidad::new);
+    }
+
+    @Benchmark
+    public int tabla() {
+        return persistir(ProductoTabla::new);
+    }
+
+    private int persistir(Function<Producto, ? extends ProductoMedido> entidad) {
+        return transaccion.execute(estado -> {
+            for (Producto producto : productos) {
+                entityManager.persist(entidad.apply(producto));
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return productos.size();
+        });
+    }
+
+    // Envuelve el DataSource para que cada sentencia espere la latencia indicada antes de ejecutarse
+    private static BeanPostProcessor latenciaDeRed(long micros) {
+        QueryExecutionListener espera = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                try {
+                    TimeUnit.MICROSECONDS.sleep(micros);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (micros > 0 && bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name("latencia-" + beanName).listener(espera).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+}
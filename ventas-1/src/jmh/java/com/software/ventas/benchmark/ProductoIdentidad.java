@@ -0,0 +1,35 @@
+package com.software.ventas.benchmark;
+
+import com.software.ventas.entity.Producto;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product mapped with the previous {@code GenerationType.IDENTITY} id, so Hibernate inserts each row on its own to read the generated key.
+ */
+
+/**
+ * Producto mapeado con el id anterior {@code GenerationType.IDENTITY}, así que Hibernate inserta cada fila por separado para leer la llave generada.
+ */
+
+@Entity
+@Table(name = "producto_identidad")
+@Getter
+@NoArgsConstructor
+public class ProductoIdentidad extends ProductoMedido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    public ProductoIdentidad(Producto producto) {
+        super(producto);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.software.ventas.benchmark;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Columns of {@link Producto} shared by the two entities of {@link InsercionBenchmark}, which differ only in how the id is generated.
+ */
+
+/**
+ * Columnas de {@link Producto} compartidas por las dos entidades de {@link InsercionBenchmark}, que solo difieren en cómo se genera el id.
+ */
+
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class ProductoMedido {
+
+    @Column
+    private String nombre;
+
+    @Column
+    private Double precio;
+
+    @Column
+    private String imagen;
+
+    @Column
+    private String descripcion;
+
+    @Column
+    private Integer unidades;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Genero genero;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Categoria categoria;
+
+    @Column
+    private String marca;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Talla talla;
+
+    protected ProductoMedido(Producto producto) {
+        this.nombre = producto.getNombre();
+        this.precio = producto.getPrecio();
+        this.imagen = producto.getImagen();
+        this.descripcion = producto.getDescripcion();
+        this.unidades = producto.getUnidades();
+        this.genero = producto.getGenero();
+        this.categoria = producto.getCategoria();
+        this.marca = producto.getMarca();
+        this.talla = producto.getTalla();
+    }
+
+}
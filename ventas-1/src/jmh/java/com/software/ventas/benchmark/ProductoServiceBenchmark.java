@@ -0,0 +1,102 @@
+package com.software.ventas.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.software.ventas.VentasApplication;
+import com.software.ventas.dto.Facetas;
+import com.software.ventas.dto.Pagina;
+import com.software.ventas.entity.Producto;
+import com.software.ventas.repository.ProductoRepository;
+import com.software.ventas.service.CatalogoIndice;
+import com.software.ventas.service.ProductoService;
+
+/**
+ * Benchmarks of the filter paths of {@link ProductoService} against an embedded H2 database in MySQL mode.
+ * The application context is started once per trial with the cache disabled, so every call reaches the index or the database.
+ */
+
+/**
+ * Benchmarks de los caminos de filtrado de {@link ProductoService} contra una base de datos H2 embebida en modo MySQL.
+ * El contexto de la aplicación se inicia una vez por prueba con la caché desactivada, para que cada llamada llegue al índice o a la base de datos.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductoServiceBenchmark {
+
+    @Param({"10000"})
+    private int productos;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ProductoService productoService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = SpringApplication.run(VentasApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.cache.type=none",
+                "--logging.level.root=WARN");
+        ProductoRepository productoRepository = contexto.getBean(ProductoRepository.class);
+        List<Producto> catalogo = new ArrayList<>();
+        for (int i = 0; i < productos; i++) {
+            catalogo.add(Datos.producto(i));
+        }
+        productoRepository.saveAll(catalogo);
+        // El índice se cargó al arrancar con la base vacía
+        contexto.getBean(CatalogoIndice.class).reconstruir(productoRepository.findAll());
+        productoService = contexto.getBean(ProductoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Producto> porCategoria() {
+        return productoService.findByCategoria("RUNNING");
+    }
+
+    @Benchmark
+    public List<Producto> buscarConFacetas() {
+        return productoService.buscar("RUNNING", "F", "38", null, 60_000.0, 150_000.0, true);
+    }
+
+    @Benchmark
+    public Facetas contarFacetas() {
+        return productoService.contarFacetas("RUNNING", null, null);
+    }
+
+    @Benchmark
+    public Pagina<Producto> pagina() {
+        return productoService.findPagina(5_000L, 20);
+    }
+
+}
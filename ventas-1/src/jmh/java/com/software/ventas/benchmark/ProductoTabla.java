@@ -0,0 +1,37 @@
+package com.software.ventas.benchmark;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.Secuencia;
+import com.software.ventas.entity.Secuencias;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product mapped with the same table generator as {@link Producto}: ids come in blocks of {@link Secuencias#BLOQUE} from the
+ * {@link Secuencias#TABLA} table through the pool of the generator, so Hibernate sends the inserts as JDBC batches.
+ */
+
+/**
+ * Producto mapeado con el mismo generador por tabla que {@link Producto}: los ids salen en bloques de {@link Secuencias#BLOQUE} de la
+ * tabla {@link Secuencias#TABLA} por el pool del generador, así que Hibernate envía las inserciones en lotes JDBC.
+ */
+
+@Entity
+@Table(name = "producto_tabla")
+@Getter
+@NoArgsConstructor
+public class ProductoTabla extends ProductoMedido {
+
+    @Id
+    @Secuencia("producto_tabla")
+    private Long id;
+
+    public ProductoTabla(Producto producto) {
+        super(producto);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.software.ventas.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.software.ventas.entity.Carrito;
+import com.software.ventas.entity.Cliente;
+import com.software.ventas.entity.Item;
+import com.software.ventas.entity.Orden;
+import com.software.ventas.entity.Producto;
+
+/**
+ * Benchmarks of the JSON serialization of the {@link Producto} and {@link Orden} lists returned by the controllers,
+ * with an {@link ObjectMapper} configured like the one of Spring Boot.
+ */
+
+/**
+ * Benchmarks de la serialización JSON de las listas de {@link Producto} y {@link Orden} devueltas por los controladores,
+ * con un {@link ObjectMapper} configurado como el de Spring Boot.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"100", "1000"})
+    private int tamano;
+
+    private ObjectMapper objectMapper;
+
+    private List<Producto> productos;
+
+    private List<Orden> ordenes;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        productos = new ArrayList<>();
+        ordenes = new ArrayList<>();
+        for (int i = 0; i < tamano; i++) {
+            Producto producto = Datos.producto(i);
+            producto.setId((long) i);
+            productos.add(producto);
+
+            Cliente cliente = new Cliente();
+            cliente.setNombres("Nombre" + i);
+            cliente.setApellidos("Apellido" + i);
+            Carrito carrito = new Carrito(cliente);
+            carrito.getItems().add(new Item(1 + i % 3, producto, carrito));
+            carrito.setTotal();
+            carrito.setComprado(true);
+            Orden orden = new Orden(carrito);
+            orden.setId((long) i);
+            ordenes.add(orden);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarProductos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productos);
+    }
+
+    @Benchmark
+    public byte[] serializarOrdenes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ordenes);
+    }
+
+}
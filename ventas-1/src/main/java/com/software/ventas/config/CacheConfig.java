@@ -0,0 +1,42 @@
+package com.software.ventas.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration that wraps the Caffeine {@link CacheManager} created by Spring Boot in a {@link TransactionAwareCacheManagerProxy}.
+ * Inside a transaction, the puts and evictions of the caches are applied after the commit, so a concurrent read
+ * cannot put back a row that the transaction is still changing, and a rollback leaves the caches untouched.
+ *
+ * @see com.software.ventas.service.ProductoService
+ */
+
+/**
+ * Configuración que envuelve el {@link CacheManager} de Caffeine creado por Spring Boot en un {@link TransactionAwareCacheManagerProxy}.
+ * Dentro de una transacción, las escrituras e invalidaciones de las cachés se aplican después del commit, así una lectura concurrente
+ * no puede volver a guardar una fila que la transacción todavía está cambiando, y un rollback deja las cachés intactas.
+ *
+ * @see com.software.ventas.service.ProductoService
+ */
+
+@Configuration
+public class CacheConfig {
+
+    // Es estático para que el post-procesador se registre sin crear antes esta configuración
+    @Bean
+    public static BeanPostProcessor cacheTransaccional() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.software.ventas.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.software.ventas.service.CatalogoVersion;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filter that caches the serialized responses of the anonymous catalog endpoints:
+ * {@code GET /productos}, {@code /productos/{id}}, {@code /productos/categoria/{categoria}},
+ * {@code /productos/genero/{genero}} and {@code /productos/talla/{talla}}.
+ *
+ * <p>The first request for an endpoint and its parameters stores the JSON body, its gzip compressed copy and a strong
+ * {@code ETag} computed from the content; the compressed copy answers with the same {@code ETag} plus a {@code -gzip} suffix,
+ * since both variants differ byte by byte. Later requests are answered from memory without touching the controller,
+ * the database or Jackson, compressed when the client accepts gzip, and with HTTP 304 when their {@code If-None-Match}
+ * matches the {@code ETag} of the variant they would receive. An entry is valid while the {@link CatalogoVersion} it was stored with is still current.</p>
+ *
+ * <p>The key is the normalized route, without the trailing slash and with the id as a number. None of these endpoints reads
+ * query parameters, so a request that has any is not cached and reaches the controller as usual; otherwise every new parameter
+ * would store another copy of the catalog.</p>
+ *
+ * <p>The cache is bounded by the bytes of the stored bodies, plain and compressed, with {@code ventas.catalogo.respuestas-bytes},
+ * and its hit ratio is published in the {@code cache.*} metrics with the tag {@code cache=respuestasCatalogo}.</p>
+ *
+ * @see CatalogoVersion
+ * @see com.software.ventas.controller.ProductoController
+ */
+
+/**
+ * Filtro que guarda en caché las respuestas serializadas de los endpoints anónimos del catálogo:
+ * {@code GET /productos}, {@code /productos/{id}}, {@code /productos/categoria/{categoria}},
+ * {@code /productos/genero/{genero}} y {@code /productos/talla/{talla}}.
+ *
+ * <p>La primera petición de un endpoint con sus parámetros guarda el cuerpo JSON, su copia comprimida con gzip y un
+ * {@code ETag} fuerte calculado a partir del contenido; la copia comprimida responde con el mismo {@code ETag} más el sufijo
+ * {@code -gzip}, ya que ambas variantes difieren byte a byte. Las peticiones siguientes se responden desde memoria sin pasar por el
+ * controlador, la base de datos ni Jackson, comprimidas cuando el cliente acepta gzip, y con HTTP 304 cuando su
+ * {@code If-None-Match} coincide con el {@code ETag} de la variante que recibirían. Una entrada es válida mientras la {@link CatalogoVersion} con la que se
+ * guardó siga siendo la actual.</p>
+ *
+ * <p>La llave es la ruta normalizada, sin la barra final y con el id como número. Ninguno de estos endpoints lee
+ * parámetros de consulta, así que una petición que trae alguno no se guarda en caché y llega al controlador como siempre; de lo contrario
+ * cada parámetro nuevo guardaría otra copia del catálogo.</p>
+ *
+ * <p>La caché se limita por los bytes de los cuerpos guardados, planos y comprimidos, con {@code ventas.catalogo.respuestas-bytes},
+ * y su tasa de aciertos se publica en las métricas {@code cache.*} con la etiqueta {@code cache=respuestasCatalogo}.</p>
+ *
+ * @see CatalogoVersion
+ * @see com.software.ventas.controller.ProductoController
+ */
+
+@Component
+public class CatalogoCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern RUTAS = Pattern.compile("/productos(?:/(\\d{1,18})|(/(?:categoria|genero|talla)/[^/]+))?/?");
+
+    @Autowired
+    private CatalogoVersion catalogoVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ventas.catalogo.respuestas-bytes:33554432}")
+    private long maximoBytes;
+
+    private Cache<String, Respuesta> respuestas;
+
+    @PostConstruct
+    public void iniciar() {
+        respuestas = Caffeine.newBuilder()
+                .maximumWeight(maximoBytes)
+                .weigher((String clave, Respuesta respuesta) -> clave.length() + respuesta.cuerpo.length + respuesta.comprimido.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, respuestas, "respuestasCatalogo");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || request.getQueryString() != null
+                || !RUTAS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clave = clave(request.getRequestURI());
+        // La versión se lee antes de consultar: si cambia mientras tanto, la entrada nace vencida
+        long version = catalogoVersion.actual();
+        Respuesta respuesta = respuestas.getIfPresent(clave);
+        if (respuesta == null || respuesta.version != version) {
+            ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, captura);
+            if (captura.getStatus() != HttpServletResponse.SC_OK) {
+                captura.copyBodyToResponse();
+                return;
+            }
+            byte[] cuerpo = captura.getContentAsByteArray();
+            respuesta = new Respuesta(version, DigestUtils.md5DigestAsHex(cuerpo), captura.getContentType(), cuerpo, comprimir(cuerpo));
+            respuestas.put(clave, respuesta);
+            captura.resetBuffer();
+        }
+        escribir(request, response, respuesta);
+    }
+
+    private void escribir(HttpServletRequest request, HttpServletResponse response, Respuesta respuesta) throws IOException {
+        // Cada variante tiene su propio ETag fuerte: el cuerpo comprimido no es idéntico byte a byte al plano
+        boolean gzip = aceptaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? respuesta.etagComprimido : respuesta.etag;
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (coincide(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] cuerpo = respuesta.cuerpo;
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            cuerpo = respuesta.comprimido;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(respuesta.tipo);
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    // /productos/007/ y /productos/7 son la misma respuesta
+    private static String clave(String uri) {
+        Matcher ruta = RUTAS.matcher(uri);
+        ruta.matches();
+        if (ruta.group(1) != null) {
+            return "/productos/" + Long.parseLong(ruta.group(1));
+        }
+        return ruta.group(2) != null ? "/productos" + ruta.group(2) : "/productos";
+    }
+
+    // Acepta gzip si aparece, o si aparece *, con un valor q mayor que cero; gzip;q=0 lo rechaza explícitamente
+    private static boolean aceptaGzip(String codificaciones) {
+        if (codificaciones == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double comodin = null;
+        for (String codificacion : codificaciones.split(",")) {
+            String[] partes = codificacion.split(";");
+            String nombre = partes[0].trim().toLowerCase(Locale.ROOT);
+            double calidad = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=") || parametro.startsWith("Q=")) {
+                    try {
+                        calidad = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        calidad = 0.0;
+                    }
+                }
+            }
+            if (nombre.equals("gzip") || nombre.equals("x-gzip")) {
+                gzip = calidad;
+            } else if (nombre.equals("*")) {
+                comodin = calidad;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return comodin != null && comodin > 0;
+    }
+
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            // If-None-Match usa la comparación débil, así que se ignora el prefijo W/
+            if (valor.equals("*") || (valor.startsWith("W/") ? valor.substring(2) : valor).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] comprimir(byte[] cuerpo) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(cuerpo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(cuerpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static class Respuesta {
+
+        private final long version;
+
+        private final String etag;
+
+        private final String etagComprimido;
+
+        private final String tipo;
+
+        private final byte[] cuerpo;
+
+        private final byte[] comprimido;
+
+        Respuesta(long version, String huella, String tipo, byte[] cuerpo, byte[] comprimido) {
+            this.version = version;
+            this.etag = "\"" + huella + "\"";
+            this.etagComprimido = "\"" + huella + "-gzip\"";
+            this.tipo = tipo;
+            this.cuerpo = cuerpo;
+            this.comprimido = comprimido;
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.software.ventas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Configuration that wraps the application {@link DataSource} in a datasource-proxy {@link ProxyDataSource}
+ * so that every SQL statement goes through {@link ContadorConsultas}.
+ * The slow-query threshold is configured with {@code ventas.sql.lenta-ms}.
+ *
+ * @see ConsultasSqlFilter
+ */
+
+/**
+ * Configuración que envuelve el {@link DataSource} de la aplicación en un {@link ProxyDataSource} de datasource-proxy
+ * para que cada sentencia SQL pase por {@link ContadorConsultas}.
+ * El umbral de consulta lenta se configura con {@code ventas.sql.lenta-ms}.
+ *
+ * @see ConsultasSqlFilter
+ */
+
+@Configuration
+public class ConsultasSqlConfig {
+
+    // Es estático para que el post-procesador se registre sin crear antes esta configuración
+    @Bean
+    public static BeanPostProcessor proxyConsultasSql(@Value("${ventas.sql.lenta-ms:200}") long lentaMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new ContadorConsultas(lentaMs))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.software.ventas.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.software.ventas.config.ContadorConsultas.Medicion;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Filter that measures the SQL statements executed by each request with {@link ContadorConsultas}.
+ * The number of statements and their total time are returned in the {@link #CABECERA_SENTENCIAS} and {@link #CABECERA_TIEMPO}
+ * headers, written just before the response is committed, and recorded as metrics tagged by the route of the endpoint.
+ * A request that executes more than {@code ventas.sql.presupuesto} statements is logged as a warning.
+ *
+ * <p>Only the statements executed on the request thread are counted; the work delegated to other pools, such as the
+ * password hashing of the logins, is not included.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code ventas.sql.sentencias}: Statements executed per request.</li>
+ *   <li>{@code ventas.sql.tiempo}: Time spent executing statements per request.</li>
+ *   <li>{@code ventas.sql.presupuesto.excedido}: Requests that exceeded the statement budget.</li>
+ * </ul>
+ *
+ * @see ConsultasSqlConfig
+ */
+
+/**
+ * Filtro que mide las sentencias SQL ejecutadas por cada petición con {@link ContadorConsultas}.
+ * El número de sentencias y su tiempo total se devuelven en las cabeceras {@link #CABECERA_SENTENCIAS} y {@link #CABECERA_TIEMPO},
+ * escritas justo antes de confirmar la respuesta, y se registran como métricas etiquetadas por la ruta del endpoint.
+ * Una petición que ejecuta más de {@code ventas.sql.presupuesto} sentencias se registra como advertencia.
+ *
+ * <p>Solo se cuentan las sentencias ejecutadas en el hilo de la petición; el trabajo delegado a otros pools, como el
+ * hash de contraseñas de los inicios de sesión, no se incluye.</p>
+ *
+ * <p>Métricas:</p>
+ * <ul>
+ *   <li>{@code ventas.sql.sentencias}: Sentencias ejecutadas por petición.</li>
+ *   <li>{@code ventas.sql.tiempo}: Tiempo dedicado a ejecutar sentencias por petición.</li>
+ *   <li>{@code ventas.sql.presupuesto.excedido}: Peticiones que excedieron el presupuesto de sentencias.</li>
+ * </ul>
+ *
+ * @see ConsultasSqlConfig
+ */
+
+@Component
+public class ConsultasSqlFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA_SENTENCIAS = "X-Consultas-SQL";
+
+    public static final String CABECERA_TIEMPO = "X-Tiempo-SQL-ms";
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasSqlFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ventas.sql.presupuesto:10}")
+    private int presupuesto;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorConsultas.iniciar();
+        RespuestaMedida respuesta = new RespuestaMedida(response);
+        try {
+            filterChain.doFilter(request, respuesta);
+        } finally {
+            Medicion medicion = ContadorConsultas.terminar();
+            respuesta.escribirCabeceras(medicion);
+            registrar(request, medicion);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, Medicion medicion) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String ruta = patron != null ? patron.toString() : "desconocida";
+        DistributionSummary.builder("ventas.sql.sentencias").tag("uri", ruta).publishPercentileHistogram()
+                .register(meterRegistry).record(medicion.getSentencias());
+        meterRegistry.timer("ventas.sql.tiempo", "uri", ruta).record(medicion.getMilisegundos(), TimeUnit.MILLISECONDS);
+        if (medicion.getSentencias() > presupuesto) {
+            meterRegistry.counter("ventas.sql.presupuesto.excedido", "uri", ruta).increment();
+            log.warn("{} {} ejecutó {} sentencias SQL en {} ms, por encima del presupuesto de {}",
+                    request.getMethod(), request.getRequestURI(), medicion.getSentencias(), medicion.getMilisegundos(), presupuesto);
+        }
+    }
+
+    // Escribe las cabeceras con la medición en curso en cuanto el controlador empieza a escribir el cuerpo
+    private static class RespuestaMedida extends HttpServletResponseWrapper {
+
+        private boolean escritas;
+
+        RespuestaMedida(HttpServletResponse response) {
+            super(response);
+        }
+
+        void escribirCabeceras(Medicion medicion) {
+            if (escritas || medicion == null || isCommitted()) {
+                return;
+            }
+            escritas = true;
+            setHeader(CABECERA_SENTENCIAS, String.valueOf(medicion.getSentencias()));
+            setHeader(CABECERA_TIEMPO, String.valueOf(medicion.getMilisegundos()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escribirCabeceras(ContadorConsultas.actual());
+            super.sendRedirect(location);
+        }
+
+    }
+
+}
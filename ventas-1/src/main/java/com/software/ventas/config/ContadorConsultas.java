@@ -0,0 +1,96 @@
+package com.software.ventas.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Listener of the {@link javax.sql.DataSource} proxy that measures the SQL statements executed by each request.
+ * Between {@link #iniciar()} and {@link #terminar()} it counts, on the current thread, every statement sent to the database
+ * (a JDBC batch counts once, since it is a single round trip) and adds up their execution time.
+ * Any statement that takes {@code ventas.sql.lenta-ms} milliseconds or more is logged as a slow query, inside or outside a request.
+ *
+ * @see ConsultasSqlConfig
+ * @see ConsultasSqlFilter
+ */
+
+/**
+ * Listener del proxy del {@link javax.sql.DataSource} que mide las sentencias SQL ejecutadas por cada petición.
+ * Entre {@link #iniciar()} y {@link #terminar()} cuenta, en el hilo actual, cada sentencia enviada a la base de datos
+ * (un lote JDBC cuenta una vez, ya que es un solo viaje) y suma su tiempo de ejecución.
+ * Cualquier sentencia que tarde {@code ventas.sql.lenta-ms} milisegundos o más se registra como consulta lenta, dentro o fuera de una petición.
+ *
+ * @see ConsultasSqlConfig
+ * @see ConsultasSqlFilter
+ */
+
+public class ContadorConsultas implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadorConsultas.class);
+
+    private static final ThreadLocal<Medicion> MEDICION = new ThreadLocal<>();
+
+    private final long lentaMs;
+
+    public ContadorConsultas(long lentaMs) {
+        this.lentaMs = lentaMs;
+    }
+
+    public static void iniciar() {
+        MEDICION.set(new Medicion());
+    }
+
+    public static Medicion actual() {
+        return MEDICION.get();
+    }
+
+    public static Medicion terminar() {
+        Medicion medicion = MEDICION.get();
+        MEDICION.remove();
+        return medicion;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+        Medicion medicion = MEDICION.get();
+        if (medicion != null) {
+            medicion.sumar(ejecucion.getElapsedTime());
+        }
+        if (ejecucion.getElapsedTime() >= lentaMs) {
+            log.warn("Consulta lenta ({} ms): {}", ejecucion.getElapsedTime(),
+                    consultas.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    public static class Medicion {
+
+        private int sentencias;
+
+        private long milisegundos;
+
+        private void sumar(long tiempo) {
+            sentencias++;
+            milisegundos += tiempo;
+        }
+
+        public int getSentencias() {
+            return sentencias;
+        }
+
+        public long getMilisegundos() {
+            return milisegundos;
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.software.ventas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the Micrometer aspects that measure the services.
+ * {@link TimedAspect} records the latency histogram of every method of the classes annotated with {@code @Timed},
+ * tagged by class, method and exception, and {@link CountedAspect} counts the failures of the classes annotated with {@code @Counted}.
+ * The repositories are measured by Spring Boot with the {@code spring.data.repository.invocations} metric.
+ * Every metric is exported at {@code /actuator/prometheus}.
+ */
+
+/**
+ * Configuración de los aspectos de Micrometer que miden los servicios.
+ * {@link TimedAspect} registra el histograma de latencia de cada método de las clases anotadas con {@code @Timed},
+ * etiquetado por clase, método y excepción, y {@link CountedAspect} cuenta los fallos de las clases anotadas con {@code @Counted}.
+ * Los repositorios los mide Spring Boot con la métrica {@code spring.data.repository.invocations}.
+ * Todas las métricas se exportan en {@code /actuator/prometheus}.
+ */
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry meterRegistry) {
+        return new CountedAspect(meterRegistry);
+    }
+
+}
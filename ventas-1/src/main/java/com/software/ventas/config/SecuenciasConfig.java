@@ -0,0 +1,55 @@
+package com.software.ventas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.software.ventas.repository.SecuenciaGenerador;
+import com.software.ventas.repository.SecuenciasReserva;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the connection pool used only to reserve id blocks.
+ * It opens a Hikari pool of {@code ventas.secuencias.conexiones} connections with the same URL and credentials as the application
+ * and hands the resulting {@link SecuenciasReserva} to Hibernate, so {@link SecuenciaGenerador} never borrows a second connection
+ * from the pool the request is already using. Its metrics are published with {@code pool=secuencias}.
+ *
+ * @see SecuenciasReserva
+ * @see SecuenciasInicializador
+ */
+
+/**
+ * Configuración del pool de conexiones usado solo para reservar bloques de ids.
+ * Abre un pool Hikari de {@code ventas.secuencias.conexiones} conexiones con la misma URL y credenciales de la aplicación y entrega
+ * la {@link SecuenciasReserva} resultante a Hibernate, así {@link SecuenciaGenerador} nunca pide una segunda conexión al pool que la
+ * petición ya está usando. Sus métricas se publican con {@code pool=secuencias}.
+ *
+ * @see SecuenciasReserva
+ * @see SecuenciasInicializador
+ */
+
+@Configuration
+public class SecuenciasConfig {
+
+    // El pool no se publica como bean DataSource: desactivaría el DataSource autoconfigurado y lo envolvería el proxy de consultas
+    @Bean(destroyMethod = "close")
+    public SecuenciasReserva secuenciasReserva(DataSourceProperties propiedades, MeterRegistry meterRegistry,
+            @Value("${ventas.secuencias.conexiones:2}") int conexiones) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("secuencias");
+        dataSource.setMaximumPoolSize(conexiones);
+        dataSource.setMinimumIdle(1);
+        dataSource.setMetricRegistry(meterRegistry);
+        return new SecuenciasReserva(dataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer reservaSecuencias(SecuenciasReserva secuenciasReserva) {
+        return propiedades -> propiedades.put(SecuenciaGenerador.RESERVA, secuenciasReserva);
+    }
+
+}
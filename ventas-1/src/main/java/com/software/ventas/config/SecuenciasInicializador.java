@@ -0,0 +1,71 @@
+package com.software.ventas.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.software.ventas.entity.Secuencias;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Initializes the rows of the {@link Secuencias} table before the application receives requests.
+ * The tables created with IDENTITY columns already have rows, so each generator is moved after the highest existing id
+ * instead of starting at 1. A generator that is already ahead of its table is not modified.
+ *
+ * <p>It runs after the {@code entityManagerFactory}, once Hibernate has created the entity tables. The {@link Secuencias#TABLA} table
+ * is not mapped by Hibernate, so it is created here when it does not exist, with the same columns the former table generator used.</p>
+ *
+ * @see Secuencias
+ */
+
+/**
+ * Inicializa las filas de la tabla {@link Secuencias} antes de que la aplicación reciba peticiones.
+ * Las tablas creadas con columnas IDENTITY ya tienen filas, así que cada generador se mueve después del mayor id existente
+ * en lugar de empezar en 1. Un generador que ya va por delante de su tabla no se modifica.
+ *
+ * <p>Se ejecuta después del {@code entityManagerFactory}, una vez Hibernate creó las tablas de las entidades. Hibernate no mapea la tabla
+ * {@link Secuencias#TABLA}, así que se crea aquí cuando no existe, con las mismas columnas que usaba el antiguo generador por tabla.</p>
+ *
+ * @see Secuencias
+ */
+
+@Component
+@DependsOn("entityManagerFactory")
+public class SecuenciasInicializador {
+
+    // Valor del generador en la tabla de secuencias -> tabla de la entidad
+    private static final Map<String, String> TABLAS = Map.of(
+            "producto", "producto",
+            "carrito", "carrito",
+            "item", "item",
+            "orden", "orden");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void inicializar() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + Secuencias.TABLA + " (" + Secuencias.COLUMNA_ENTIDAD + " VARCHAR(255) NOT NULL, "
+                + Secuencias.COLUMNA_VALOR + " BIGINT, PRIMARY KEY (" + Secuencias.COLUMNA_ENTIDAD + "))");
+        for (Map.Entry<String, String> entrada : TABLAS.entrySet()) {
+            Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + entrada.getValue(), Long.class);
+            // SecuenciasReserva toma el valor guardado como el final del siguiente bloque, que así empieza después del máximo
+            long inicial = maximo + Secuencias.BLOQUE;
+            Integer existe = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + Secuencias.TABLA + " WHERE "
+                    + Secuencias.COLUMNA_ENTIDAD + " = ?", Integer.class, entrada.getKey());
+            if (existe == 0) {
+                jdbcTemplate.update("INSERT INTO " + Secuencias.TABLA + " (" + Secuencias.COLUMNA_ENTIDAD + ", " + Secuencias.COLUMNA_VALOR
+                        + ") VALUES (?, ?)", entrada.getKey(), inicial);
+            } else {
+                // La fila pudo quedar atrás si la tabla se creó sobre datos existentes
+                jdbcTemplate.update("UPDATE " + Secuencias.TABLA + " SET " + Secuencias.COLUMNA_VALOR + " = ? WHERE "
+                        + Secuencias.COLUMNA_ENTIDAD + " = ? AND " + Secuencias.COLUMNA_VALOR + " < ?", inicial, entrada.getKey(), inicial);
+            }
+        }
+    }
+
+}
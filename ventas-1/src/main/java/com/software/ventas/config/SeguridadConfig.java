@@ -0,0 +1,30 @@
+package com.software.ventas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Configuration of the password encoder shared by the whole application.
+ * The BCrypt cost factor is read from {@code ventas.seguridad.bcrypt-fuerza} (10 by default).
+ *
+ * @see com.software.ventas.service.AutenticacionService
+ */
+
+/**
+ * Configuración del codificador de contraseñas compartido por toda la aplicación.
+ * El factor de costo de BCrypt se lee de {@code ventas.seguridad.bcrypt-fuerza} (10 por defecto).
+ *
+ * @see com.software.ventas.service.AutenticacionService
+ */
+
+@Configuration
+public class SeguridadConfig {
+
+    @Bean
+    public BCryptPasswordEncoder codificadorContrasenas(@Value("${ventas.seguridad.bcrypt-fuerza:10}") int fuerza) {
+        return new BCryptPasswordEncoder(fuerza);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.software.ventas.config;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.software.ventas.dto.Sesion;
+import com.software.ventas.service.TokenService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor that reads the session token of the cart and order endpoints.
+ * A valid {@code Authorization: Bearer} token leaves its {@link Sesion} in the request attribute {@link #ATRIBUTO_SESION};
+ * an invalid or expired token is answered with HTTP 401. Requests without a token continue unchanged.
+ *
+ * @see TokenService
+ * @see WebConfig
+ */
+
+/**
+ * Interceptor que lee el token de sesión de los endpoints de carritos y órdenes.
+ * Un token {@code Authorization: Bearer} válido deja su {@link Sesion} en el atributo de la petición {@link #ATRIBUTO_SESION};
+ * un token inválido o expirado se responde con HTTP 401. Las peticiones sin token continúan sin cambios.
+ *
+ * @see TokenService
+ * @see WebConfig
+ */
+
+@Component
+public class SesionInterceptor implements HandlerInterceptor {
+
+    public static final String ATRIBUTO_SESION = "sesion";
+
+    private static final String PREFIJO = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String autorizacion = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (autorizacion == null || !autorizacion.startsWith(PREFIJO)) {
+            return true;
+        }
+        Optional<Sesion> sesion = tokenService.verificar(autorizacion.substring(PREFIJO.length()));
+        if (sesion.isEmpty()) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token de sesión inválido o expirado");
+            return false;
+        }
+        request.setAttribute(ATRIBUTO_SESION, sesion.get());
+        return true;
+    }
+
+}
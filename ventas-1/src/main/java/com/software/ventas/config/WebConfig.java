@@ -0,0 +1,29 @@
+package com.software.ventas.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configuration of the application.
+ * Registers the {@link SesionInterceptor} on the cart, item and order endpoints.
+ */
+
+/**
+ * Configuración Web MVC de la aplicación.
+ * Registra el {@link SesionInterceptor} en los endpoints de carritos, ítems y órdenes.
+ */
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SesionInterceptor sesionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sesionInterceptor).addPathPatterns("/carritos/**", "/ordenes/**", "/items/**");
+    }
+
+}
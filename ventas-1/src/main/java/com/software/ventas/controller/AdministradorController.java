@@ -2,13 +2,18 @@ package com.software.ventas.controller;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.dto.Sesion;
 import com.software.ventas.entity.Administrador;
 import com.software.ventas.service.AdministradorService;
+import com.software.ventas.service.TokenService;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -27,7 +32,7 @@ import org.springframework.web.bind.annotation.PutMapping;
  *   <li>{@link #findAll()}: GET /admin - Retrieves a list of all administrators.</li>
  *   <li>{@link #findById(Long)}: GET /admin/{id} - Retrieves an administrator by its ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /admin/nombre/{nombre} - Retrieves a list of administrators by name.</li>
- *   <li>{@link #ingresarUsuario(String, String)}: GET /admin/ingresar - Validates administrator login credentials.</li>
+ *   <li>{@link #ingresarUsuario(String, String)}: GET /admin/ingresar - Validates administrator login credentials on the hashing pool (HTTP 429 when it is saturated). On success returns a signed session token in the {@code Authorization} header.</li>
  *   <li>{@link #create(Administrador, String)}: POST /admin/create - Creates a new administrator.</li>
  *   <li>{@link #updateById(Long, Administrador)}: PUT /admin/update/{id} - Updates an existing administrator by ID.</li>
  *   <li>{@link #updatePassword(Long, String, String)}: PUT /admin/update-password/{id} - Updates the password of an administrator.</li>
@@ -52,7 +57,7 @@ import org.springframework.web.bind.annotation.PutMapping;
  *   <li>{@link #findAll()}: GET /admin - Recupera una lista de todos los administradores.</li>
  *   <li>{@link #findById(Long)}: GET /admin/{id} - Recupera un administrador por su ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /admin/nombre/{nombre} - Recupera una lista de administradores por nombre.</li>
- *   <li>{@link #ingresarUsuario(String, String)}: GET /admin/ingresar - Valida las credenciales de inicio de sesión del administrador.</li>
+ *   <li>{@link #ingresarUsuario(String, String)}: GET /admin/ingresar - Valida las credenciales de inicio de sesión del administrador en el pool de hashing (HTTP 429 cuando está saturado). Si son válidas devuelve un token de sesión firmado en la cabecera {@code Authorization}.</li>
  *   <li>{@link #create(Administrador, String)}: POST /admin/create - Crea un nuevo administrador.</li>
  *   <li>{@link #updateById(Long, Administrador)}: PUT /admin/update/{id} - Actualiza un administrador existente por ID.</li>
  *   <li>{@link #updatePassword(Long, String, String)}: PUT /admin/update-password/{id} - Actualiza la contraseña de un administrador.</li>
@@ -78,6 +83,9 @@ public class AdministradorController {
     @Autowired
     private AdministradorService administradorService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping()
     public List<Administrador> findAll() {
         return administradorService.findAll();
@@ -94,8 +102,12 @@ public class AdministradorController {
     }
 
     @GetMapping("/ingresar")
-    public boolean ingresarUsuario(@RequestParam String nombre, @RequestParam String contrasena) {
-        return administradorService.ingresarUsuario(nombre, contrasena);
+    public CompletableFuture<ResponseEntity<Boolean>> ingresarUsuario(@RequestParam String nombre, @RequestParam String contrasena) {
+        return administradorService.autenticar(nombre, contrasena).thenApply(administrador -> administrador
+                .map(a -> ResponseEntity.ok()
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.emitir(Sesion.ADMINISTRADOR, a.getId()))
+                        .body(true))
+                .orElseGet(() -> ResponseEntity.ok(false)));
     }
 
     @PostMapping("/create")
@@ -6,14 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.config.SesionInterceptor;
+import com.software.ventas.dto.Sesion;
 import com.software.ventas.entity.Carrito;
 import com.software.ventas.service.CarritoService;
+import com.software.ventas.service.TokenService;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 
 /**
@@ -22,15 +26,18 @@ import org.springframework.web.bind.annotation.RequestParam;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /carritos - Retrieves a list of all carts.</li>
- *   <li>{@link #findById(Long)}: GET /carritos/{id} - Retrieves a cart by its ID.</li>
- *   <li>{@link #findByClienteId(Long)}: GET /carritos/cliente/{clienteId} - Retrieves a list of carts by client ID.</li>
- *   <li>{@link #create(Long)}: POST /carritos/create - Creates a new cart for a client.</li>
- *   <li>{@link #update(Long, Long)}: PUT /carritos/update - Updates an existing cart with a new client ID.</li>
- *   <li>{@link #comprar(Long)}: PUT /carritos/comprar - Marks a cart as purchased.</li>
- *   <li>{@link #delete(Long)}: DELETE /carritos/delete/{id} - Deletes a cart by its ID.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /carritos - Retrieves a list of all carts (HTTP 403 for client sessions, which use {@code /carritos/mios}).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /carritos/{id} - Retrieves a cart by its ID.</li>
+ *   <li>{@link #findByClienteId(Long, Sesion)}: GET /carritos/cliente/{clienteId} - Retrieves a list of carts by client ID.</li>
+ *   <li>{@link #findMios(Sesion)}: GET /carritos/mios - Retrieves the carts of the client of the session token (HTTP 401 without it).</li>
+ *   <li>{@link #create(Long, Sesion)}: POST /carritos/create - Creates a new cart for a client.</li>
+ *   <li>{@link #update(Long, Long, Sesion)}: PUT /carritos/update - Updates an existing cart with a new client ID.</li>
+ *   <li>{@link #comprar(Long, Sesion)}: PUT /carritos/comprar - Marks a cart as purchased.</li>
+ *   <li>{@link #delete(Long, Sesion)}: DELETE /carritos/delete/{id} - Deletes a cart by its ID.</li>
  * </ul>
  * 
+ * <p>With a client session token, the endpoints that take a cart or a client answer HTTP 403 when it belongs to another client.</p>
+ *
  * <p>Dependencies:</p>
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be injected automatically by Spring.</li>
@@ -48,15 +55,18 @@ import org.springframework.web.bind.annotation.RequestParam;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /carritos - Recupera una lista de todos los carritos.</li>
- *   <li>{@link #findById(Long)}: GET /carritos/{id} - Recupera un carrito por su ID.</li>
- *   <li>{@link #findByClienteId(Long)}: GET /carritos/cliente/{clienteId} - Recupera una lista de carritos por ID de cliente.</li>
- *   <li>{@link #create(Long)}: POST /carritos/create - Crea un nuevo carrito para un cliente.</li>
- *   <li>{@link #update(Long, Long)}: PUT /carritos/update - Actualiza un carrito existente con un nuevo ID de cliente.</li>
- *   <li>{@link #comprar(Long)}: PUT /carritos/comprar - Marca un carrito como comprado.</li>
- *   <li>{@link #delete(Long)}: DELETE /carritos/delete/{id} - Elimina un carrito por su ID.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /carritos - Recupera una lista de todos los carritos (HTTP 403 para sesiones de cliente, que usan {@code /carritos/mios}).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /carritos/{id} - Recupera un carrito por su ID.</li>
+ *   <li>{@link #findByClienteId(Long, Sesion)}: GET /carritos/cliente/{clienteId} - Recupera una lista de carritos por ID de cliente.</li>
+ *   <li>{@link #findMios(Sesion)}: GET /carritos/mios - Recupera los carritos del cliente del token de sesión (HTTP 401 sin él).</li>
+ *   <li>{@link #create(Long, Sesion)}: POST /carritos/create - Crea un nuevo carrito para un cliente.</li>
+ *   <li>{@link #update(Long, Long, Sesion)}: PUT /carritos/update - Actualiza un carrito existente con un nuevo ID de cliente.</li>
+ *   <li>{@link #comprar(Long, Sesion)}: PUT /carritos/comprar - Marca un carrito como comprado.</li>
+ *   <li>{@link #delete(Long, Sesion)}: DELETE /carritos/delete/{id} - Elimina un carrito por su ID.</li>
  * </ul>
  * 
+ * <p>Con un token de sesión de cliente, los endpoints que reciben un carrito o un cliente responden HTTP 403 cuando pertenece a otro cliente.</p>
+ *
  * <p>Dependencias:</p>
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
@@ -75,39 +85,56 @@ public class CarritoController {
     
     @Autowired
     private CarritoService carritoService;
+
+    @Autowired
+    private TokenService tokenService;
     
     @GetMapping
-    public List<Carrito> findAll() {
+    public List<Carrito> findAll(@RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.rechazarCliente(sesion);
         return carritoService.findAll();
     }
 
     @GetMapping("/{id}")
-    public Carrito findById(@PathVariable Long id) {
-        return carritoService.findById(id).get();
+    public Carrito findById(@PathVariable Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        Carrito carrito = carritoService.findById(id).get();
+        tokenService.verificarPropietario(sesion, () -> carrito.getCliente().getId());
+        return carrito;
     }
 
     @GetMapping("/cliente/{clienteId}")
-    public List<Carrito> findByClienteId(@PathVariable Long clienteId) {
+    public List<Carrito> findByClienteId(@PathVariable Long clienteId, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> clienteId);
         return carritoService.findByClienteId(clienteId);
     }
 
+    @GetMapping("/mios")
+    public List<Carrito> findMios(@RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        return carritoService.findByClienteId(tokenService.clienteDeSesion(sesion));
+    }
+
     @PostMapping("/create")
-    public Carrito create(@RequestParam Long cliente_id) {
+    public Carrito create(@RequestParam Long cliente_id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> cliente_id);
         return carritoService.create(cliente_id);
     }
 
     @PutMapping("/update")
-    public Carrito update(@RequestParam Long id, @RequestParam Long cliente_id) {
+    public Carrito update(@RequestParam Long id, @RequestParam Long cliente_id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(id));
+        tokenService.verificarPropietario(sesion, () -> cliente_id);
         return carritoService.update(id, cliente_id);
     }
 
     @PutMapping("/comprar")
-    public void comprar(@RequestParam Long id) {
+    public void comprar(@RequestParam Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(id));
         carritoService.comprar(id);
     }
 
     @DeleteMapping("/delete/{id}")
-    public void delete(@PathVariable Long id) {
+    public void delete(@PathVariable Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(id));
         carritoService.delete(id);
     }
     
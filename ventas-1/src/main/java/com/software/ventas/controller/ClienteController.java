@@ -2,13 +2,19 @@ package com.software.ventas.controller;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.dto.ClienteResumen;
+import com.software.ventas.dto.Sesion;
 import com.software.ventas.entity.Cliente;
 import com.software.ventas.service.ClienteService;
+import com.software.ventas.service.TokenService;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,7 +33,7 @@ import org.springframework.web.bind.annotation.RequestParam;
  *   <li>{@link #findAll()}: GET /clientes - Retrieves a list of all clients.</li>
  *   <li>{@link #findById(Long)}: GET /clientes/{id} - Retrieves a client by its ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /clientes/nombre/{nombre} - Retrieves a list of clients by name.</li>
- *   <li>{@link #ingresarUsuario(String, String)}: GET /clientes/ingresar - Authenticates a user by name and password.</li>
+ *   <li>{@link #ingresarUsuario(String, String)}: GET /clientes/ingresar - Authenticates a user by name and password on the hashing pool (HTTP 429 when it is saturated). Returns a signed session token in the {@code Authorization} header.</li>
  *   <li>{@link #create(Cliente, String, String)}: POST /clientes/create - Creates a new client.</li>
  *   <li>{@link #updateById(Long, Cliente, String)}: PUT /clientes/update/{id} - Updates an existing client by ID.</li>
  *   <li>{@link #updatePassword(Long, String, String)}: PUT /clientes/update-password/{id} - Updates the password of a client.</li>
@@ -54,7 +60,7 @@ import org.springframework.web.bind.annotation.RequestParam;
  *   <li>{@link #findAll()}: GET /clientes - Recupera una lista de todos los clientes.</li>
  *   <li>{@link #findById(Long)}: GET /clientes/{id} - Recupera un cliente por su ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /clientes/nombre/{nombre} - Recupera una lista de clientes por nombre.</li>
- *   <li>{@link #ingresarUsuario(String, String)}: GET /clientes/ingresar - Autentica a un usuario por nombre y contraseña.</li>
+ *   <li>{@link #ingresarUsuario(String, String)}: GET /clientes/ingresar - Autentica a un usuario por nombre y contraseña en el pool de hashing (HTTP 429 cuando está saturado). Devuelve un token de sesión firmado en la cabecera {@code Authorization}.</li>
  *   <li>{@link #create(Cliente, String, String)}: POST /clientes/create - Crea un nuevo cliente.</li>
  *   <li>{@link #updateById(Long, Cliente, String)}: PUT /clientes/update/{id} - Actualiza un cliente existente por ID.</li>
  *   <li>{@link #updatePassword(Long, String, String)}: PUT /clientes/update-password/{id} - Actualiza la contraseña de un cliente.</li>
@@ -80,8 +86,11 @@ public class ClienteController {
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping
-    public List<Cliente> findAll() {
+    public List<ClienteResumen> findAll() {
         return clienteService.findAll();
     }
 
@@ -96,8 +105,10 @@ public class ClienteController {
     }
 
     @GetMapping("/ingresar")
-    public Cliente ingresarUsuario(@RequestParam String nombre, @RequestParam String contrasena) {
-        return clienteService.getClienteLogin(nombre, contrasena);
+    public CompletableFuture<ResponseEntity<Cliente>> ingresarUsuario(@RequestParam String nombre, @RequestParam String contrasena) {
+        return clienteService.getClienteLogin(nombre, contrasena).thenApply(cliente -> ResponseEntity.ok()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.emitir(Sesion.CLIENTE, cliente.getId()))
+                .body(cliente));
     }
 
     @PostMapping("/create")
@@ -6,12 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.config.SesionInterceptor;
+import com.software.ventas.dto.ItemLote;
+import com.software.ventas.dto.Sesion;
 import com.software.ventas.entity.Item;
+import com.software.ventas.service.CarritoService;
 import com.software.ventas.service.ItemService;
+import com.software.ventas.service.TokenService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 
@@ -21,15 +28,19 @@ import org.springframework.web.bind.annotation.PutMapping;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /items - Retrieves a list of all items.</li>
- *   <li>{@link #findById(Long)}: GET /items/{id} - Retrieves an item by its ID.</li>
- *   <li>{@link #findByCarritoId(Long)}: GET /items/carrito/{carritoId} - Retrieves a list of items by cart ID.</li>
- *   <li>{@link #findByProductoId(Long)}: GET /items/producto/{productoId} - Retrieves a list of items by product ID.</li>
- *   <li>{@link #create(Integer, Long, Long)}: POST /items/create - Creates a new item.</li>
- *   <li>{@link #update(Long, Integer, Long, Long)}: PUT /items/update/{id} - Updates an existing item by ID.</li>
- *   <li>{@link #delete(Long)}: DELETE /items/delete/{id} - Deletes an item by ID.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /items - Retrieves a list of all items (HTTP 403 for client sessions).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /items/{id} - Retrieves an item by its ID.</li>
+ *   <li>{@link #findByCarritoId(Long, Sesion)}: GET /items/carrito/{carritoId} - Retrieves a list of items by cart ID.</li>
+ *   <li>{@link #findByProductoId(Long, Sesion)}: GET /items/producto/{productoId} - Retrieves a list of items by product ID (HTTP 403 for client sessions).</li>
+ *   <li>{@link #create(Integer, Long, Long, Sesion)}: POST /items/create - Creates a new item.</li>
+ *   <li>{@link #createLote(Long, List, Sesion)}: POST /items/lote - Adds several products to a cart in one request; the body is a list of {@code producto_id} and {@code unidades}.</li>
+ *   <li>{@link #update(Long, Integer, Long, Long, Sesion)}: PUT /items/update/{id} - Updates an existing item by ID.</li>
+ *   <li>{@link #delete(Long, Sesion)}: DELETE /items/delete/{id} - Deletes an item by ID.</li>
  * </ul>
  * 
+ * <p>With a client session token, the endpoints that take a cart or an item answer HTTP 403 when it belongs to another client,
+ * and the listings that span every client answer HTTP 403.</p>
+ * 
  * <p>Dependencies:</p>
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be injected automatically by Spring.</li>
@@ -47,15 +58,19 @@ import org.springframework.web.bind.annotation.PutMapping;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /items - Recupera una lista de todos los ítems.</li>
- *   <li>{@link #findById(Long)}: GET /items/{id} - Recupera un ítem por su ID.</li>
- *   <li>{@link #findByCarritoId(Long)}: GET /items/carrito/{carritoId} - Recupera una lista de ítems por ID del carrito.</li>
- *   <li>{@link #findByProductoId(Long)}: GET /items/producto/{productoId} - Recupera una lista de ítems por ID del producto.</li>
- *   <li>{@link #create(Integer, Long, Long)}: POST /items/create - Crea un nuevo ítem.</li>
- *   <li>{@link #update(Long, Integer, Long, Long)}: PUT /items/update/{id} - Actualiza un ítem existente por ID.</li>
- *   <li>{@link #delete(Long)}: DELETE /items/delete/{id} - Elimina un ítem por ID.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /items - Recupera una lista de todos los ítems (HTTP 403 para sesiones de cliente).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /items/{id} - Recupera un ítem por su ID.</li>
+ *   <li>{@link #findByCarritoId(Long, Sesion)}: GET /items/carrito/{carritoId} - Recupera una lista de ítems por ID del carrito.</li>
+ *   <li>{@link #findByProductoId(Long, Sesion)}: GET /items/producto/{productoId} - Recupera una lista de ítems por ID del producto (HTTP 403 para sesiones de cliente).</li>
+ *   <li>{@link #create(Integer, Long, Long, Sesion)}: POST /items/create - Crea un nuevo ítem.</li>
+ *   <li>{@link #createLote(Long, List, Sesion)}: POST /items/lote - Agrega varios productos a un carrito en una sola petición; el cuerpo es una lista de {@code producto_id} y {@code unidades}.</li>
+ *   <li>{@link #update(Long, Integer, Long, Long, Sesion)}: PUT /items/update/{id} - Actualiza un ítem existente por ID.</li>
+ *   <li>{@link #delete(Long, Sesion)}: DELETE /items/delete/{id} - Elimina un ítem por ID.</li>
  * </ul>
  * 
+ * <p>Con un token de sesión de cliente, los endpoints que reciben un carrito o un ítem responden HTTP 403 cuando pertenece a otro cliente,
+ * y los listados que abarcan a todos los clientes responden HTTP 403.</p>
+ * 
  * <p>Dependencias:</p>
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
@@ -75,38 +90,62 @@ public class ItemController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private CarritoService carritoService;
+
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping
-    public List<Item> findAll() {
+    public List<Item> findAll(@RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.rechazarCliente(sesion);
         return itemService.findAll();
     }
 
     @GetMapping("/{id}")
-    public Item findById(@PathVariable Long id) {
+    public Item findById(@PathVariable Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> itemService.clienteDe(id));
         return itemService.findById(id).get();
     }
 
     @GetMapping("/carrito/{carritoId}")
-    public List<Item> findByCarritoId(@PathVariable Long carritoId) {
+    public List<Item> findByCarritoId(@PathVariable Long carritoId, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(carritoId));
         return itemService.findByCarritoId(carritoId);
     }
 
     @GetMapping("/producto/{productoId}")
-    public List<Item> findByProductoId(@PathVariable Long productoId) {
+    public List<Item> findByProductoId(@PathVariable Long productoId, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.rechazarCliente(sesion);
         return itemService.findByProductoId(productoId);
     }
 
     @PostMapping("/create")
-    public Item create(@RequestParam Integer unidades, @RequestParam Long producto_id, @RequestParam Long carrito_id)  {
+    public Item create(@RequestParam Integer unidades, @RequestParam Long producto_id, @RequestParam Long carrito_id,
+            @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(carrito_id));
         return itemService.create(unidades, producto_id, carrito_id);
     }
 
+    @PostMapping("/lote")
+    public List<Item> createLote(@RequestParam Long carrito_id, @RequestBody List<ItemLote> items,
+            @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(carrito_id));
+        return itemService.createLote(items, carrito_id);
+    }
+
+    // El ítem puede cambiar de carrito, así que el cliente debe ser dueño del carrito actual y del nuevo
     @PutMapping("/update/{id}")
-    public Item update(@PathVariable Long id, @RequestParam Integer unidades, @RequestParam Long producto_id, @RequestParam Long carrito_id) {
+    public Item update(@PathVariable Long id, @RequestParam Integer unidades, @RequestParam Long producto_id, @RequestParam Long carrito_id,
+            @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> itemService.clienteDe(id));
+        tokenService.verificarPropietario(sesion, () -> carritoService.clienteDe(carrito_id));
         return itemService.update(id, unidades, producto_id, carrito_id);
     }
 
     @DeleteMapping("/delete/{id}")
-    public void delete(@PathVariable Long id) {
+    public void delete(@PathVariable Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> itemService.clienteDe(id));
         itemService.delete(id);
     }
         
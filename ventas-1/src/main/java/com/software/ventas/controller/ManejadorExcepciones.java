@@ -0,0 +1,66 @@
+package com.software.ventas.controller;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.software.ventas.exception.ConflictoException;
+import com.software.ventas.exception.NoEncontradoException;
+
+/**
+ * Translates the exceptions thrown by the controllers into HTTP responses.
+ * 
+ * <p>Handlers:</p>
+ * <ul>
+ *   <li>{@link #saturado(RejectedExecutionException)}: Answers HTTP 429 with {@code Retry-After} when the password hashing pool
+ *       of {@link com.software.ventas.service.AutenticacionService} rejects a task because it is saturated.</li>
+ *   <li>{@link #noEncontrado(NoEncontradoException)}: Answers HTTP 404 with the message of the service when the entity of a request
+ *       does not exist.</li>
+ *   <li>{@link #conflicto(ConflictoException)}: Answers HTTP 409 with the message of the service when the current state does not allow
+ *       the request, such as a product without enough units or a cart that was already bought.</li>
+ * </ul>
+ *
+ * <p>Other exceptions keep the default handling of Spring, so an unexpected error never exposes its message to the client.</p>
+ */
+
+/**
+ * Traduce las excepciones lanzadas por los controladores a respuestas HTTP.
+ * 
+ * <p>Manejadores:</p>
+ * <ul>
+ *   <li>{@link #saturado(RejectedExecutionException)}: Responde HTTP 429 con {@code Retry-After} cuando el pool de hashing de contraseñas
+ *       de {@link com.software.ventas.service.AutenticacionService} rechaza una tarea porque está saturado.</li>
+ *   <li>{@link #noEncontrado(NoEncontradoException)}: Responde HTTP 404 con el mensaje del servicio cuando la entidad de una petición
+ *       no existe.</li>
+ *   <li>{@link #conflicto(ConflictoException)}: Responde HTTP 409 con el mensaje del servicio cuando el estado actual no permite
+ *       la petición, como un producto sin unidades suficientes o un carrito que ya fue comprado.</li>
+ * </ul>
+ *
+ * <p>Las demás excepciones conservan el manejo por defecto de Spring, así un error inesperado nunca expone su mensaje al cliente.</p>
+ */
+
+@RestControllerAdvice
+public class ManejadorExcepciones {
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> saturado(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Demasiadas solicitudes de autenticación, intente de nuevo");
+    }
+
+    @ExceptionHandler(NoEncontradoException.class)
+    public ResponseEntity<String> noEncontrado(NoEncontradoException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ConflictoException.class)
+    public ResponseEntity<String> conflicto(ConflictoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+}
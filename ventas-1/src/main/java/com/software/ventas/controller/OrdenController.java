@@ -1,16 +1,25 @@
 package com.software.ventas.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.time.LocalDate;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.config.SesionInterceptor;
+import com.software.ventas.dto.OrdenResumen;
+import com.software.ventas.dto.Sesion;
 import com.software.ventas.entity.Orden;
 import com.software.ventas.service.OrdenService;
+import com.software.ventas.service.TokenService;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Controller class to manage {@link Orden} entities.
@@ -18,12 +27,16 @@ import com.software.ventas.service.OrdenService;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /ordenes - Retrieves a list of all orders.</li>
- *   <li>{@link #findById(Long)}: GET /ordenes/{id} - Retrieves an order by its ID.</li>
- *   <li>{@link #findByCarritoId(Long)}: GET /ordenes/cliente/{clienteId} - Retrieves a list of orders by customer ID.</li>
- *   <li>{@link #findByFechas(LocalDate, LocalDate)}: GET /ordenes/fechas/{fechaInicio}/{fechaFin} - Retrieves a list of orders within a date range.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /ordenes - Retrieves a list of all orders (HTTP 403 for client sessions, which use {@code /ordenes/mias}).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /ordenes/{id} - Retrieves an order by its ID.</li>
+ *   <li>{@link #findByCarritoId(Long, Sesion)}: GET /ordenes/cliente/{clienteId} - Retrieves a list of orders by customer ID.</li>
+ *   <li>{@link #findMias(Sesion)}: GET /ordenes/mias - Retrieves the orders of the client of the session token (HTTP 401 without it).</li>
+ *   <li>{@link #findByFechas(LocalDate, LocalDate, Sesion)}: GET /ordenes/fechas/{fechaInicio}/{fechaFin} - Retrieves a list of orders within a date range (HTTP 403 for client sessions).</li>
+ *   <li>{@link #exportar(LocalDate, LocalDate, String, HttpServletResponse, Sesion)}: GET /ordenes/exportar/{fechaInicio}/{fechaFin}?formato=ndjson|csv - Streams the orders within a date range (HTTP 403 for client sessions).</li>
  * </ul>
  * 
+ * <p>With a client session token, the endpoints that take an order or a client answer HTTP 403 when it belongs to another client.</p>
+ *
  * <p>Dependencies:</p>
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be injected automatically by Spring.</li>
@@ -41,12 +54,16 @@ import com.software.ventas.service.OrdenService;
  * 
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@link #findAll()}: GET /ordenes - Recupera una lista de todas las órdenes.</li>
- *   <li>{@link #findById(Long)}: GET /ordenes/{id} - Recupera una orden por su ID.</li>
- *   <li>{@link #findByCarritoId(Long)}: GET /ordenes/cliente/{clienteId} - Recupera una lista de órdenes por ID del cliente.</li>
- *   <li>{@link #findByFechas(LocalDate, LocalDate)}: GET /ordenes/fechas/{fechaInicio}/{fechaFin} - Recupera una lista de órdenes dentro de un rango de fechas.</li>
+ *   <li>{@link #findAll(Sesion)}: GET /ordenes - Recupera una lista de todas las órdenes (HTTP 403 para sesiones de cliente, que usan {@code /ordenes/mias}).</li>
+ *   <li>{@link #findById(Long, Sesion)}: GET /ordenes/{id} - Recupera una orden por su ID.</li>
+ *   <li>{@link #findByCarritoId(Long, Sesion)}: GET /ordenes/cliente/{clienteId} - Recupera una lista de órdenes por ID del cliente.</li>
+ *   <li>{@link #findMias(Sesion)}: GET /ordenes/mias - Recupera las órdenes del cliente del token de sesión (HTTP 401 sin él).</li>
+ *   <li>{@link #findByFechas(LocalDate, LocalDate, Sesion)}: GET /ordenes/fechas/{fechaInicio}/{fechaFin} - Recupera una lista de órdenes dentro de un rango de fechas (HTTP 403 para sesiones de cliente).</li>
+ *   <li>{@link #exportar(LocalDate, LocalDate, String, HttpServletResponse, Sesion)}: GET /ordenes/exportar/{fechaInicio}/{fechaFin}?formato=ndjson|csv - Exporta en streaming las órdenes dentro de un rango de fechas (HTTP 403 para sesiones de cliente).</li>
  * </ul>
  * 
+ * <p>Con un token de sesión de cliente, los endpoints que reciben una orden o un cliente responden HTTP 403 cuando pertenece a otro cliente.</p>
+ *
  * <p>Dependencias:</p>
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
@@ -66,24 +83,47 @@ public class OrdenController {
     @Autowired
     private OrdenService ordenService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping
-    public List<Orden> findAll() {
+    public List<OrdenResumen> findAll(@RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.rechazarCliente(sesion);
         return ordenService.findAll();
     }
 
     @GetMapping("/{id}")
-    public Orden findById(@PathVariable Long id) {
-        return ordenService.findById(id).get();
+    public Orden findById(@PathVariable Long id, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        Orden orden = ordenService.findById(id).get();
+        tokenService.verificarPropietario(sesion, () -> orden.getCarrito().getCliente().getId());
+        return orden;
     }
 
     @GetMapping("/cliente/{clienteId}")
-    public List<Orden> findByCarritoId(@PathVariable Long clienteId) {
+    public List<Orden> findByCarritoId(@PathVariable Long clienteId, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.verificarPropietario(sesion, () -> clienteId);
         return ordenService.findByClienteId(clienteId);
     }
 
+    @GetMapping("/mias")
+    public List<Orden> findMias(@RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        return ordenService.findByClienteId(tokenService.clienteDeSesion(sesion));
+    }
+
     @GetMapping("/fechas/{fechaInicio}/{fechaFin}")
-    public List<Orden> findByFechas(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+    public List<Orden> findByFechas(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin, @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) {
+        tokenService.rechazarCliente(sesion);
         return ordenService.findByFechas(fechaInicio, fechaFin);
     }
 
+    @GetMapping("/exportar/{fechaInicio}/{fechaFin}")
+    public void exportar(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin,
+            @RequestParam(defaultValue = "ndjson") String formato, HttpServletResponse response,
+            @RequestAttribute(name = SesionInterceptor.ATRIBUTO_SESION, required = false) Sesion sesion) throws IOException {
+        tokenService.rechazarCliente(sesion);
+        response.setContentType(ordenService.tipoContenidoExportacion(formato));
+        response.setCharacterEncoding("UTF-8");
+        ordenService.exportarPorFechas(fechaInicio, fechaFin, formato, response.getWriter());
+    }
+
 }
@@ -1,12 +1,19 @@
 package com.software.ventas.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.software.ventas.dto.Facetas;
+import com.software.ventas.dto.Pagina;
+import com.software.ventas.dto.ProductoResumen;
+import com.software.ventas.dto.ResultadoImportacion;
 import com.software.ventas.entity.Producto;
+import com.software.ventas.service.ImportacionProductosService;
 import com.software.ventas.service.ProductoService;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,12 +31,18 @@ import org.springframework.web.bind.annotation.PutMapping;
  * <p>Endpoints:</p>
  * <ul>
  *   <li>{@link #findAll()}: GET /productos - Retrieves a list of all products.</li>
+ *   <li>{@link #findPagina(Long, Integer)}: GET /productos/pagina - Retrieves a page of products after the {@code despues} cursor.</li>
  *   <li>{@link #findById(Long)}: GET /productos/{id} - Retrieves a product by its ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /productos/nombre/{nombre} - Retrieves products by name.</li>
  *   <li>{@link #findByCategoria(String)}: GET /productos/categoria/{categoria} - Retrieves products by category.</li>
  *   <li>{@link #findByGenero(String)}: GET /productos/genero/{genero} - Retrieves products by gender.</li>
  *   <li>{@link #findByTalla(String)}: GET /productos/talla/{talla} - Retrieves products by size.</li>
+ *   <li>{@link #buscar(String, String, String, String, Double, Double, Boolean)}: GET /productos/buscar - Retrieves products by any combination of category, gender, size, brand, price range and stock.</li>
+ *   <li>{@link #search(String, Integer)}: GET /productos/search?q= - Retrieves the products most relevant to a free text query over name, brand and description, ignoring case and accents.</li>
+ *   <li>{@link #sugerencias(String, Integer)}: GET /productos/sugerencias?prefijo= - Retrieves the autocomplete suggestions of names and brands for a prefix, ranked by stock.</li>
+ *   <li>{@link #contarFacetas(String, String, String)}: GET /productos/facetas - Retrieves the product counts per category, gender and size.</li>
  *   <li>{@link #create(Producto, String)}: POST /productos/create - Creates a new product.</li>
+ *   <li>{@link #importar(String, InputStream)}: POST /productos/importar?formato= - Imports products in bulk from a CSV or NDJSON body, reporting the rejected rows.</li>
  *   <li>{@link #updateById(Long, Producto, String)}: PUT /productos/update/{id} - Updates a product by ID.</li>
  *   <li>{@link #deleteById(Long)}: DELETE /productos/delete/{id} - Deletes a product by ID.</li>
  * </ul>
@@ -52,12 +65,18 @@ import org.springframework.web.bind.annotation.PutMapping;
  * <p>Endpoints:</p>
  * <ul>
  *   <li>{@link #findAll()}: GET /productos - Recupera una lista de todos los productos.</li>
+ *   <li>{@link #findPagina(Long, Integer)}: GET /productos/pagina - Recupera una página de productos después del cursor {@code despues}.</li>
  *   <li>{@link #findById(Long)}: GET /productos/{id} - Recupera un producto por su ID.</li>
  *   <li>{@link #findByNombre(String)}: GET /productos/nombre/{nombre} - Recupera productos por nombre.</li>
  *   <li>{@link #findByCategoria(String)}: GET /productos/categoria/{categoria} - Recupera productos por categoría.</li>
  *   <li>{@link #findByGenero(String)}: GET /productos/genero/{genero} - Recupera productos por género.</li>
  *   <li>{@link #findByTalla(String)}: GET /productos/talla/{talla} - Recupera productos por talla.</li>
+ *   <li>{@link #buscar(String, String, String, String, Double, Double, Boolean)}: GET /productos/buscar - Recupera productos por cualquier combinación de categoría, género, talla, marca, rango de precio y existencias.</li>
+ *   <li>{@link #search(String, Integer)}: GET /productos/search?q= - Recupera los productos más relevantes para una búsqueda de texto libre sobre nombre, marca y descripción, sin distinguir mayúsculas ni tildes.</li>
+ *   <li>{@link #sugerencias(String, Integer)}: GET /productos/sugerencias?prefijo= - Recupera las sugerencias de autocompletado de nombres y marcas para un prefijo, ordenadas por existencias.</li>
+ *   <li>{@link #contarFacetas(String, String, String)}: GET /productos/facetas - Recupera los conteos de productos por categoría, género y talla.</li>
  *   <li>{@link #create(Producto, String)}: POST /productos/create - Crea un nuevo producto.</li>
+ *   <li>{@link #importar(String, InputStream)}: POST /productos/importar?formato= - Importa productos de forma masiva desde un cuerpo CSV o NDJSON, informando las filas rechazadas.</li>
  *   <li>{@link #updateById(Long, Producto, String)}: PUT /productos/update/{id} - Actualiza un producto por ID.</li>
  *   <li>{@link #deleteById(Long)}: DELETE /productos/delete/{id} - Elimina un producto por ID.</li>
  * </ul>
@@ -81,11 +100,19 @@ public class ProductoController {
     @Autowired
     private ProductoService productoService;
 
+    @Autowired
+    private ImportacionProductosService importacionProductosService;
+
     @GetMapping
-    public List<Producto> findAll() {
+    public List<ProductoResumen> findAll() {
         return productoService.findAll();
     }
 
+    @GetMapping("/pagina")
+    public Pagina<Producto> findPagina(@RequestParam(required = false) Long despues, @RequestParam(defaultValue = "20") Integer limite) {
+        return productoService.findPagina(despues, limite);
+    }
+
     @GetMapping("/{id}")
     public Producto findById(@PathVariable Long id) {
         return productoService.findById(id).get();
@@ -111,11 +138,40 @@ public class ProductoController {
         return productoService.findByTalla(talla);
     }
 
+    @GetMapping("/buscar")
+    public List<Producto> buscar(@RequestParam(required = false) String categoria, @RequestParam(required = false) String genero,
+            @RequestParam(required = false) String talla, @RequestParam(required = false) String marca,
+            @RequestParam(required = false) Double precioMin, @RequestParam(required = false) Double precioMax,
+            @RequestParam(defaultValue = "false") Boolean enStock) {
+        return productoService.buscar(categoria, genero, talla, marca, precioMin, precioMax, enStock);
+    }
+
+    @GetMapping("/search")
+    public List<Producto> search(@RequestParam String q, @RequestParam(defaultValue = "20") Integer limite) {
+        return productoService.buscarTexto(q, limite);
+    }
+
+    @GetMapping("/sugerencias")
+    public List<String> sugerencias(@RequestParam String prefijo, @RequestParam(defaultValue = "10") Integer limite) {
+        return productoService.sugerir(prefijo, limite);
+    }
+
+    @GetMapping("/facetas")
+    public Facetas contarFacetas(@RequestParam(required = false) String categoria, @RequestParam(required = false) String genero,
+            @RequestParam(required = false) String talla) {
+        return productoService.contarFacetas(categoria, genero, talla);
+    }
+
     @PostMapping("/create")
     public Producto create(@RequestBody Producto producto, @RequestParam String talla) {
         return productoService.create(producto, talla);
     }
 
+    @PostMapping("/importar")
+    public ResultadoImportacion importar(@RequestParam(defaultValue = "csv") String formato, InputStream cuerpo) throws IOException {
+        return importacionProductosService.importar(formato, cuerpo);
+    }
+
     @PutMapping("/update/{id}")
     public Producto updateById(@PathVariable Long id, @RequestBody Producto producto, @RequestParam String talla) {
         return productoService.updateById(id, producto, talla);
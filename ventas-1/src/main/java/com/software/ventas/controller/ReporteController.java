@@ -0,0 +1,131 @@
+package com.software.ventas.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.software.ventas.dto.ProductoVendido;
+import com.software.ventas.dto.ResumenVentas;
+import com.software.ventas.dto.VentasDiarias;
+import com.software.ventas.dto.VentasPeriodo;
+import com.software.ventas.dto.VentasPorCategoria;
+import com.software.ventas.dto.VentasPorGenero;
+import com.software.ventas.entity.ResumenVentaDiaria;
+import com.software.ventas.service.ReporteService;
+
+/**
+ * Controller class for the sales reports.
+ * Every endpoint receives a date range and returns rows already aggregated by the database.
+ * 
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@link #resumen(LocalDate, LocalDate)}: GET /reportes/resumen/{fechaInicio}/{fechaFin} - Retrieves the order count, revenue and average ticket.</li>
+ *   <li>{@link #ventasPorDia(LocalDate, LocalDate)}: GET /reportes/ventas/dia/{fechaInicio}/{fechaFin} - Retrieves the sales grouped by day.</li>
+ *   <li>{@link #ventasPorSemana(LocalDate, LocalDate)}: GET /reportes/ventas/semana/{fechaInicio}/{fechaFin} - Retrieves the sales grouped by ISO week.</li>
+ *   <li>{@link #ventasPorMes(LocalDate, LocalDate)}: GET /reportes/ventas/mes/{fechaInicio}/{fechaFin} - Retrieves the sales grouped by month.</li>
+ *   <li>{@link #productosMasVendidos(LocalDate, LocalDate, Integer)}: GET /reportes/productos/{fechaInicio}/{fechaFin}?limite= - Retrieves the products with the most units sold.</li>
+ *   <li>{@link #ventasPorCategoria(LocalDate, LocalDate)}: GET /reportes/categorias/{fechaInicio}/{fechaFin} - Retrieves the units and revenue per category.</li>
+ *   <li>{@link #ventasPorGenero(LocalDate, LocalDate)}: GET /reportes/generos/{fechaInicio}/{fechaFin} - Retrieves the units and revenue per gender.</li>
+ *   <li>{@link #resumenDiario(LocalDate, LocalDate)}: GET /reportes/diario/{fechaInicio}/{fechaFin} - Retrieves the daily rollup per category and gender.</li>
+ *   <li>{@link #reconstruirResumenDiario()}: POST /reportes/diario/reconstruir - Rebuilds the daily rollup from the existing orders and returns the number of rows.</li>
+ * </ul>
+ * 
+ * <p>Dependencies:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indicates that a dependency should be injected automatically by Spring.</li>
+ *   <li>{@link RestController}: Indicates that this class is a REST controller.</li>
+ *   <li>{@link RequestMapping}: Specifies the base URI for all endpoints in this controller.</li>
+ * </ul>
+ * 
+ * @see ReporteService
+ */
+
+/**
+ * Clase de controlador para los reportes de ventas.
+ * Cada endpoint recibe un rango de fechas y devuelve filas ya agregadas por la base de datos.
+ * 
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@link #resumen(LocalDate, LocalDate)}: GET /reportes/resumen/{fechaInicio}/{fechaFin} - Recupera el número de órdenes, los ingresos y el ticket promedio.</li>
+ *   <li>{@link #ventasPorDia(LocalDate, LocalDate)}: GET /reportes/ventas/dia/{fechaInicio}/{fechaFin} - Recupera las ventas agrupadas por día.</li>
+ *   <li>{@link #ventasPorSemana(LocalDate, LocalDate)}: GET /reportes/ventas/semana/{fechaInicio}/{fechaFin} - Recupera las ventas agrupadas por semana ISO.</li>
+ *   <li>{@link #ventasPorMes(LocalDate, LocalDate)}: GET /reportes/ventas/mes/{fechaInicio}/{fechaFin} - Recupera las ventas agrupadas por mes.</li>
+ *   <li>{@link #productosMasVendidos(LocalDate, LocalDate, Integer)}: GET /reportes/productos/{fechaInicio}/{fechaFin}?limite= - Recupera los productos con más unidades vendidas.</li>
+ *   <li>{@link #ventasPorCategoria(LocalDate, LocalDate)}: GET /reportes/categorias/{fechaInicio}/{fechaFin} - Recupera las unidades e ingresos por categoría.</li>
+ *   <li>{@link #ventasPorGenero(LocalDate, LocalDate)}: GET /reportes/generos/{fechaInicio}/{fechaFin} - Recupera las unidades e ingresos por género.</li>
+ *   <li>{@link #resumenDiario(LocalDate, LocalDate)}: GET /reportes/diario/{fechaInicio}/{fechaFin} - Recupera el resumen diario por categoría y género.</li>
+ *   <li>{@link #reconstruirResumenDiario()}: POST /reportes/diario/reconstruir - Reconstruye el resumen diario a partir de las órdenes existentes y devuelve el número de filas.</li>
+ * </ul>
+ * 
+ * <p>Dependencias:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
+ *   <li>{@link RestController}: Indica que esta clase es un controlador REST.</li>
+ *   <li>{@link RequestMapping}: Especifica la URI base para todos los endpoints en este controlador.</li>
+ * </ul>
+ * 
+ * @see ReporteService
+ */
+
+
+@RestController
+@RequestMapping("/reportes")
+public class ReporteController {
+
+    @Autowired
+    private ReporteService reporteService;
+
+    @GetMapping("/resumen/{fechaInicio}/{fechaFin}")
+    public ResumenVentas resumen(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.resumen(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/ventas/dia/{fechaInicio}/{fechaFin}")
+    public List<VentasDiarias> ventasPorDia(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.ventasPorDia(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/ventas/semana/{fechaInicio}/{fechaFin}")
+    public List<VentasPeriodo> ventasPorSemana(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.ventasPorSemana(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/ventas/mes/{fechaInicio}/{fechaFin}")
+    public List<VentasPeriodo> ventasPorMes(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.ventasPorMes(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/productos/{fechaInicio}/{fechaFin}")
+    public List<ProductoVendido> productosMasVendidos(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin,
+            @RequestParam(defaultValue = "10") Integer limite) {
+        return reporteService.productosMasVendidos(fechaInicio, fechaFin, limite);
+    }
+
+    @GetMapping("/categorias/{fechaInicio}/{fechaFin}")
+    public List<VentasPorCategoria> ventasPorCategoria(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.ventasPorCategoria(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/generos/{fechaInicio}/{fechaFin}")
+    public List<VentasPorGenero> ventasPorGenero(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.ventasPorGenero(fechaInicio, fechaFin);
+    }
+
+    @GetMapping("/diario/{fechaInicio}/{fechaFin}")
+    public List<ResumenVentaDiaria> resumenDiario(@PathVariable LocalDate fechaInicio, @PathVariable LocalDate fechaFin) {
+        return reporteService.resumenDiario(fechaInicio, fechaFin);
+    }
+
+    @PostMapping("/diario/reconstruir")
+    public int reconstruirResumenDiario() {
+        return reporteService.reconstruirResumenDiario();
+    }
+
+}
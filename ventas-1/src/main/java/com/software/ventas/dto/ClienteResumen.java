@@ -0,0 +1,33 @@
+package com.software.ventas.dto;
+
+import java.time.LocalDate;
+
+import com.software.ventas.entity.enums.TipoDocumento;
+
+/**
+ * Read-only projection of a {@link com.software.ventas.entity.Cliente} used by the list endpoints.
+ * Only the public data of the client is read; the password hash is never selected.
+ */
+
+/**
+ * Proyección de solo lectura de un {@link com.software.ventas.entity.Cliente} usada por los endpoints de listado.
+ * Solo se leen los datos públicos del cliente; el hash de la contraseña nunca se selecciona.
+ */
+
+public interface ClienteResumen {
+
+    Long getId();
+
+    String getNombre_usuario();
+
+    String getNombres();
+
+    String getApellidos();
+
+    TipoDocumento getTipo_documento();
+
+    String getNumero_documento();
+
+    LocalDate getFecha_nacimiento();
+
+}
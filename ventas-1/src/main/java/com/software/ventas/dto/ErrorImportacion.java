@@ -0,0 +1,38 @@
+package com.software.ventas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a row of a product import that could not be imported.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code fila}: The line number of the row in the uploaded file, starting at 1.</li>
+ *   <li>{@code mensaje}: The reason why the row was rejected.</li>
+ * </ul>
+ *
+ * @see ResultadoImportacion
+ */
+
+/**
+ * Representa una fila de una importación de productos que no se pudo importar.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code fila}: El número de línea de la fila en el archivo subido, empezando en 1.</li>
+ *   <li>{@code mensaje}: El motivo por el que se rechazó la fila.</li>
+ * </ul>
+ *
+ * @see ResultadoImportacion
+ */
+
+@Getter
+@AllArgsConstructor
+public class ErrorImportacion {
+
+    private int fila;
+
+    private String mensaje;
+
+}
@@ -0,0 +1,52 @@
+package com.software.ventas.dto;
+
+import java.util.Map;
+
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the facet counts of the product catalog for a given filter.
+ * Each map counts the products per enum value applying the filters of the other two facets,
+ * so the client can show how many products remain when choosing another value of the same facet.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code total}: The number of products that match all the filters.</li>
+ *   <li>{@code categorias}: Product count per {@link Categoria}.</li>
+ *   <li>{@code generos}: Product count per {@link Genero}.</li>
+ *   <li>{@code tallas}: Product count per {@link Talla}.</li>
+ * </ul>
+ */
+
+/**
+ * Representa los conteos por faceta del catálogo de productos para un filtro dado.
+ * Cada mapa cuenta los productos por valor de la enumeración aplicando los filtros de las otras dos facetas,
+ * para que el cliente pueda mostrar cuántos productos quedan al elegir otro valor de la misma faceta.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code total}: El número de productos que cumplen todos los filtros.</li>
+ *   <li>{@code categorias}: Conteo de productos por {@link Categoria}.</li>
+ *   <li>{@code generos}: Conteo de productos por {@link Genero}.</li>
+ *   <li>{@code tallas}: Conteo de productos por {@link Talla}.</li>
+ * </ul>
+ */
+
+@Getter
+@AllArgsConstructor
+public class Facetas {
+
+    private int total;
+
+    private Map<Categoria, Integer> categorias;
+
+    private Map<Genero, Integer> generos;
+
+    private Map<Talla, Integer> tallas;
+
+}
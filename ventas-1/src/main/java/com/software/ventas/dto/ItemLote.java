@@ -0,0 +1,45 @@
+package com.software.ventas.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents one product of a bulk add to a shopping cart, read from the body of {@code POST /items/lote}.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code producto_id}: The ID of the product to add.</li>
+ *   <li>{@code unidades}: The number of units of the product.</li>
+ * </ul>
+ *
+ * @see com.software.ventas.service.ItemService#createLote(java.util.List, Long)
+ */
+
+/**
+ * Representa un producto de una carga masiva a un carrito de compras, leído del cuerpo de {@code POST /items/lote}.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code producto_id}: El ID del producto a agregar.</li>
+ *   <li>{@code unidades}: El número de unidades del producto.</li>
+ * </ul>
+ *
+ * @see com.software.ventas.service.ItemService#createLote(java.util.List, Long)
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemLote {
+
+    @JsonProperty("producto_id")
+    private Long productoId;
+
+    private Integer unidades;
+
+}
@@ -0,0 +1,27 @@
+package com.software.ventas.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of an {@link com.software.ventas.entity.Orden} used by the list endpoints.
+ * Only the columns of the order are read; the associated cart is not loaded.
+ * The property names match the JSON of the entity.
+ */
+
+/**
+ * Proyección de solo lectura de una {@link com.software.ventas.entity.Orden} usada por los endpoints de listado.
+ * Solo se leen las columnas de la orden; el carrito asociado no se carga.
+ * Los nombres de las propiedades coinciden con el JSON de la entidad.
+ */
+
+public interface OrdenResumen {
+
+    Long getId();
+
+    LocalDate getFecha();
+
+    String getCliente();
+
+    Double getTotal();
+
+}
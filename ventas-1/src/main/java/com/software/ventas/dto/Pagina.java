@@ -0,0 +1,42 @@
+package com.software.ventas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a page of results obtained with keyset (cursor) pagination.
+ * The page contains the items ordered by id and the cursor to request the next page.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code items}: The items of the current page.</li>
+ *   <li>{@code siguiente}: The id to send as {@code despues} to get the next page, or {@code null} if this is the last page.</li>
+ * </ul>
+ *
+ * @param <T> the type of the items in the page
+ */
+
+/**
+ * Representa una página de resultados obtenida con paginación por cursor (keyset).
+ * La página contiene los elementos ordenados por id y el cursor para pedir la siguiente página.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code items}: Los elementos de la página actual.</li>
+ *   <li>{@code siguiente}: El id que se debe enviar como {@code despues} para obtener la siguiente página, o {@code null} si es la última.</li>
+ * </ul>
+ *
+ * @param <T> el tipo de los elementos de la página
+ */
+
+@Getter
+@AllArgsConstructor
+public class Pagina<T> {
+
+    private List<T> items;
+
+    private Long siguiente;
+
+}
@@ -0,0 +1,41 @@
+package com.software.ventas.dto;
+
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+
+/**
+ * Read-only projection of a {@link com.software.ventas.entity.Producto} used by the list endpoints.
+ * Only the selected columns are read, so no entity is hydrated or tracked by the persistence context.
+ * The property names match the JSON of the entity.
+ */
+
+/**
+ * Proyección de solo lectura de un {@link com.software.ventas.entity.Producto} usada por los endpoints de listado.
+ * Solo se leen las columnas seleccionadas, por lo que no se hidrata ninguna entidad ni se registra en el contexto de persistencia.
+ * Los nombres de las propiedades coinciden con el JSON de la entidad.
+ */
+
+public interface ProductoResumen {
+
+    Long getId();
+
+    String getNombre();
+
+    Double getPrecio();
+
+    String getImagen();
+
+    String getDescripcion();
+
+    Integer getUnidades();
+
+    Genero getGenero();
+
+    Categoria getCategoria();
+
+    String getMarca();
+
+    Talla getTalla();
+
+}
@@ -0,0 +1,23 @@
+package com.software.ventas.dto;
+
+/**
+ * Units sold and revenue of a {@link com.software.ventas.entity.Producto}, aggregated in the database
+ * from the items of the purchased carts.
+ */
+
+/**
+ * Unidades vendidas e ingresos de un {@link com.software.ventas.entity.Producto}, agregados en la base de datos
+ * a partir de los ítems de los carritos comprados.
+ */
+
+public interface ProductoVendido {
+
+    Long getId();
+
+    String getNombre();
+
+    Long getUnidades();
+
+    Double getIngresos();
+
+}
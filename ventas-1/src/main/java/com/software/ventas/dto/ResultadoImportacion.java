@@ -0,0 +1,50 @@
+package com.software.ventas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the result of a bulk product import.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code filas}: The number of data rows read.</li>
+ *   <li>{@code importadas}: The number of products inserted.</li>
+ *   <li>{@code rechazadas}: The number of rows rejected.</li>
+ *   <li>{@code errores}: The rejected rows with their reason, limited to the first
+ *   {@link com.software.ventas.service.ImportacionProductosService#MAXIMO_ERRORES}.</li>
+ * </ul>
+ *
+ * @see ErrorImportacion
+ */
+
+/**
+ * Representa el resultado de una importación masiva de productos.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code filas}: El número de filas de datos leídas.</li>
+ *   <li>{@code importadas}: El número de productos insertados.</li>
+ *   <li>{@code rechazadas}: El número de filas rechazadas.</li>
+ *   <li>{@code errores}: Las filas rechazadas con su motivo, limitadas a las primeras
+ *   {@link com.software.ventas.service.ImportacionProductosService#MAXIMO_ERRORES}.</li>
+ * </ul>
+ *
+ * @see ErrorImportacion
+ */
+
+@Getter
+@AllArgsConstructor
+public class ResultadoImportacion {
+
+    private int filas;
+
+    private int importadas;
+
+    private int rechazadas;
+
+    private List<ErrorImportacion> errores;
+
+}
@@ -0,0 +1,21 @@
+package com.software.ventas.dto;
+
+/**
+ * Totals of the orders within a date range, aggregated in the database with a single query.
+ * {@code ingresos} and {@code ticketPromedio} are {@code null} when there are no orders in the range.
+ */
+
+/**
+ * Totales de las órdenes dentro de un rango de fechas, agregados en la base de datos con una sola consulta.
+ * {@code ingresos} y {@code ticketPromedio} son {@code null} cuando no hay órdenes en el rango.
+ */
+
+public interface ResumenVentas {
+
+    Long getOrdenes();
+
+    Double getIngresos();
+
+    Double getTicketPromedio();
+
+}
@@ -0,0 +1,42 @@
+package com.software.ventas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Session carried by a signed token issued at login.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code rol}: {@link #CLIENTE} or {@link #ADMINISTRADOR}.</li>
+ *   <li>{@code id}: The id of the client or administrator that logged in.</li>
+ * </ul>
+ *
+ * @see com.software.ventas.service.TokenService
+ */
+
+/**
+ * Sesión contenida en un token firmado emitido al iniciar sesión.
+ *
+ * <p>Campos:</p>
+ * <ul>
+ *   <li>{@code rol}: {@link #CLIENTE} o {@link #ADMINISTRADOR}.</li>
+ *   <li>{@code id}: El id del cliente o administrador que inició sesión.</li>
+ * </ul>
+ *
+ * @see com.software.ventas.service.TokenService
+ */
+
+@Getter
+@AllArgsConstructor
+public class Sesion {
+
+    public static final String CLIENTE = "C";
+
+    public static final String ADMINISTRADOR = "A";
+
+    private String rol;
+
+    private Long id;
+
+}
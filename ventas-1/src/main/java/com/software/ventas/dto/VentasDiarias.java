@@ -0,0 +1,25 @@
+package com.software.ventas.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Sales of a single day, aggregated in the database from the {@link com.software.ventas.entity.Orden} table.
+ * Contains the number of orders, the revenue and the average ticket of the day.
+ */
+
+/**
+ * Ventas de un único día, agregadas en la base de datos a partir de la tabla de {@link com.software.ventas.entity.Orden}.
+ * Contiene el número de órdenes, los ingresos y el ticket promedio del día.
+ */
+
+public interface VentasDiarias {
+
+    LocalDate getFecha();
+
+    Long getOrdenes();
+
+    Double getIngresos();
+
+    Double getTicketPromedio();
+
+}
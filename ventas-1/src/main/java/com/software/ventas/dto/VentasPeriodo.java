@@ -0,0 +1,25 @@
+package com.software.ventas.dto;
+
+/**
+ * Sales of a week or a month, aggregated in the database from the {@link com.software.ventas.entity.Orden} table.
+ * {@code periodo} is the ISO week number (1-53) or the month number (1-12) within {@code anio}; for weeks, {@code anio} is the ISO week-based year.
+ */
+
+/**
+ * Ventas de una semana o de un mes, agregadas en la base de datos a partir de la tabla de {@link com.software.ventas.entity.Orden}.
+ * {@code periodo} es el número de semana ISO (1-53) o el número de mes (1-12) dentro de {@code anio}; para las semanas, {@code anio} es el año de la semana ISO.
+ */
+
+public interface VentasPeriodo {
+
+    Integer getAnio();
+
+    Integer getPeriodo();
+
+    Long getOrdenes();
+
+    Double getIngresos();
+
+    Double getTicketPromedio();
+
+}
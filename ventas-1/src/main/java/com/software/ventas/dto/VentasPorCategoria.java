@@ -0,0 +1,21 @@
+package com.software.ventas.dto;
+
+import com.software.ventas.entity.enums.Categoria;
+
+/**
+ * Units sold and revenue of a {@link Categoria}, read from the daily sales rollup.
+ */
+
+/**
+ * Unidades vendidas e ingresos de una {@link Categoria}, leídos del resumen diario de ventas.
+ */
+
+public interface VentasPorCategoria {
+
+    Categoria getCategoria();
+
+    Long getUnidades();
+
+    Double getIngresos();
+
+}
@@ -0,0 +1,21 @@
+package com.software.ventas.dto;
+
+import com.software.ventas.entity.enums.Genero;
+
+/**
+ * Units sold and revenue of a {@link Genero}, read from the daily sales rollup.
+ */
+
+/**
+ * Unidades vendidas e ingresos de un {@link Genero}, leídos del resumen diario de ventas.
+ */
+
+public interface VentasPorGenero {
+
+    Genero getGenero();
+
+    Long getUnidades();
+
+    Double getIngresos();
+
+}
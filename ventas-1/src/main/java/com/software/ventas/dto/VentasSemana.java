@@ -0,0 +1,52 @@
+package com.software.ventas.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+import lombok.Getter;
+
+/**
+ * Sales of one ISO week, rolled up from the daily totals returned by {@link VentasDiarias}.
+ * {@code anio} is the ISO week-based year, which differs from the calendar year at the year boundaries:
+ * 2024-12-30 belongs to week 1 of 2025.
+ *
+ * @see VentasPeriodo
+ */
+
+/**
+ * Ventas de una semana ISO, acumuladas a partir de los totales diarios devueltos por {@link VentasDiarias}.
+ * {@code anio} es el año de la semana ISO, que difiere del año del calendario en los cambios de año:
+ * el 2024-12-30 pertenece a la semana 1 de 2025.
+ *
+ * @see VentasPeriodo
+ */
+
+@Getter
+public class VentasSemana implements VentasPeriodo {
+
+    private final Integer anio;
+
+    private final Integer periodo;
+
+    private Long ordenes = 0L;
+
+    private Double ingresos = 0.0;
+
+    public VentasSemana(LocalDate fecha) {
+        LocalDate lunes = fecha.with(DayOfWeek.MONDAY);
+        this.anio = lunes.get(IsoFields.WEEK_BASED_YEAR);
+        this.periodo = lunes.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    public void sumar(VentasDiarias dia) {
+        ordenes += dia.getOrdenes();
+        ingresos += dia.getIngresos() != null ? dia.getIngresos() : 0.0;
+    }
+
+    @Override
+    public Double getTicketPromedio() {
+        return ordenes == 0 ? null : ingresos / ordenes;
+    }
+
+}
@@ -43,7 +43,6 @@ import lombok.Setter;
  *   <li>{@link #setNombre(String)} - Sets the name of the administrator.</li>
  *   <li>{@link #getHashcontraseña()} - Returns the hashed password of the administrator.</li>
  *   <li>{@link #setHashcontraseña(String)} - Sets the hashed password of the administrator.</li>
- *   <li>{@link #verificarContraseña(String)} - Verifies the given password against the stored hashed password.</li>
  * </ul>
  */
 
@@ -80,7 +79,6 @@ import lombok.Setter;
  *   <li>{@link #setNombre(String)} - Establece el nombre del administrador.</li>
  *   <li>{@link #getHashcontraseña()} - Devuelve la contraseña cifrada del administrador.</li>
  *   <li>{@link #setHashcontraseña(String)} - Establece la contraseña cifrada del administrador.</li>
- *   <li>{@link #verificarContraseña(String)} - Verifica la contraseña proporcionada contra la contraseña cifrada almacenada.</li>
  * </ul>
  */
 
@@ -133,13 +131,8 @@ public class Administrador extends Usuario {
     }
 
     @Override
-    public void setHashcontraseña(String contraseña) {
-        super.setHashcontraseña(contraseña);
-    }
-
-    @Override
-    public boolean verificarContraseña(String contraseña) {
-        return super.verificarContraseña(contraseña);
+    public void setHashcontraseña(String hash) {
+        super.setHashcontraseña(hash);
     }
 
     
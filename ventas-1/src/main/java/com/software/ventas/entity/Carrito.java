@@ -14,8 +14,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.Getter;
@@ -32,7 +30,7 @@ import lombok.Setter;
  *   <li>{@link Entity}: Specifies that the class is an entity and is mapped to a database table.</li>
  *   <li>{@link Table}: Specifies the name of the database table to be used for mapping.</li>
  *   <li>{@link Id}: Specifies the primary key of an entity.</li>
- *   <li>{@link GeneratedValue}: Provides for the specification of generation strategies for the values of primary keys.</li>
+ *   <li>{@link Secuencia}: Generates the ids from the shared {@link Secuencias} table in blocks reserved on a separate connection pool, so inserts can be batched.</li>
  *   <li>{@link JsonIgnore}: Indicates that the annotated field should be ignored by Jackson during serialization and deserialization.</li>
  *   <li>{@link OneToMany}: Defines a one-to-many relationship.</li>
  *   <li>{@link ManyToOne}: Defines a many-to-one relationship.</li>
@@ -46,7 +44,7 @@ import lombok.Setter;
  * <ul>
  *   <li>{@code id}: The unique identifier for the cart.</li>
  *   <li>{@code items}: The list of items in the cart.</li>
- *   <li>{@code total}: The total cost of the items in the cart.</li>
+ *   <li>{@code total}: The total cost of the items in the cart. It is not updatable: saving the cart never writes it, only {@code CarritoRepository.sumarTotal} does.</li>
  *   <li>{@code comprado}: Indicates whether the cart has been purchased.</li>
  *   <li>{@code cliente}: The client associated with the cart.</li>
  *   <li>{@code orden}: The order associated with the cart.</li>
@@ -87,7 +85,7 @@ import lombok.Setter;
  *   <li>{@link Entity}: Especifica que la clase es una entidad y está mapeada a una tabla de base de datos.</li>
  *   <li>{@link Table}: Especifica el nombre de la tabla de la base de datos a usar para el mapeo.</li>
  *   <li>{@link Id}: Especifica la clave primaria de una entidad.</li>
- *   <li>{@link GeneratedValue}: Proporciona la especificación de las estrategias de generación para los valores de claves primarias.</li>
+ *   <li>{@link Secuencia}: Genera los ids desde la tabla compartida {@link Secuencias} por bloques reservados en un pool de conexiones aparte, para que las inserciones se puedan agrupar en lotes.</li>
  *   <li>{@link JsonIgnore}: Indica que el campo anotado debe ser ignorado por Jackson durante la serialización y deserialización.</li>
  *   <li>{@link OneToMany}: Define una relación uno a muchos.</li>
  *   <li>{@link ManyToOne}: Define una relación de muchos a uno.</li>
@@ -101,7 +99,7 @@ import lombok.Setter;
  * <ul>
  *   <li>{@code id}: El identificador único del carrito.</li>
  *   <li>{@code items}: La lista de artículos en el carrito.</li>
- *   <li>{@code total}: El costo total de los artículos en el carrito.</li>
+ *   <li>{@code total}: El costo total de los artículos en el carrito. No es actualizable: guardar el carrito nunca lo escribe, solo lo hace {@code CarritoRepository.sumarTotal}.</li>
  *   <li>{@code comprado}: Indica si el carrito ha sido comprado.</li>
  *   <li>{@code cliente}: El cliente asociado con el carrito.</li>
  *   <li>{@code orden}: El pedido asociado con el carrito.</li>
@@ -140,14 +138,15 @@ import lombok.Setter;
 public class Carrito {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Secuencia("carrito")
     private Long id;
     
     @JsonIgnore
     @OneToMany(mappedBy = "carrito", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Item> items;
 
-    @Column
+    // Solo el INSERT y CarritoRepository.sumarTotal escriben el total: guardar el carrito no pisa las diferencias sumadas en paralelo
+    @Column(updatable = false)
     private Double total;
 
     @Column
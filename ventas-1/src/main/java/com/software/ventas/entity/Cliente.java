@@ -48,8 +48,7 @@ import lombok.Setter;
  * - getNombre(): Returns the username of the client.
  * - setNombre(String nombre_usuario): Sets the username of the client.
  * - getHashcontraseña(): Returns the hashed password of the client.
- * - setHashcontraseña(String contraseña): Sets the hashed password of the client.
- * - verificarContraseña(String contraseña): Verifies the given password against the stored hashed password.
+ * - setHashcontraseña(String hash): Sets the hashed password of the client.
  * - getNombres(): Returns the first names of the client.
  * - setNombres(String nombres): Sets the first names of the client.
  * - getApellidos(): Returns the last names of the client.
@@ -93,8 +92,7 @@ import lombok.Setter;
  * - getNombre(): Devuelve el nombre de usuario del cliente.
  * - setNombre(String nombre_usuario): Establece el nombre de usuario del cliente.
  * - getHashcontraseña(): Devuelve la contraseña encriptada del cliente.
- * - setHashcontraseña(String contraseña): Establece la contraseña encriptada del cliente.
- * - verificarContraseña(String contraseña): Verifica la contraseña proporcionada contra la contraseña encriptada almacenada.
+ * - setHashcontraseña(String hash): Establece la contraseña encriptada del cliente.
  * - getNombres(): Devuelve los nombres del cliente.
  * - setNombres(String nombres): Establece los nombres del cliente.
  * - getApellidos(): Devuelve los apellidos del cliente.
@@ -185,13 +183,8 @@ public class Cliente extends Usuario{
     }
     
     @Override
-    public void setHashcontraseña(String contraseña) {
-        super.setHashcontraseña(contraseña);
-    }
-
-    @Override
-    public boolean verificarContraseña(String contraseña) {
-        return super.verificarContraseña(contraseña);
+    public void setHashcontraseña(String hash) {
+        super.setHashcontraseña(hash);
     }
 
     public String getNombres() {
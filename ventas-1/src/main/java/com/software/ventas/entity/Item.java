@@ -8,12 +8,12 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.software.ventas.exception.ConflictoException;
+
 /**
  * Represents an item in the ventas system.
  * This entity is mapped to the "item" table in the database.
@@ -23,7 +23,7 @@ import lombok.Setter;
  * - @Entity: Specifies that the class is an entity and is mapped to a database table.
  * - @Table: Specifies the table name in the database.
  * - @Id: Specifies the primary key of an entity.
- * - @GeneratedValue: Provides the specification of generation strategies for the primary keys.
+ * - @Secuencia: Generates the ids from the shared {@link Secuencias} table in blocks reserved on a separate connection pool, so inserts can be batched.
  * - @Column: Specifies the mapped column for a persistent property or field.
  * - @ManyToOne: Defines a many-to-one relationship between this entity and another.
  * - @JoinColumn: Specifies the foreign key column.
@@ -52,7 +52,6 @@ import lombok.Setter;
  * - setProducto(Producto producto): Sets the product associated with the item.
  * - getSubtotal(): Returns the subtotal cost.
  * - setSubtotal(): Calculates and sets the subtotal cost based on the product price and units.
- * - restarUnidades(): Deducts the units from the product if the cart is marked as purchased.
  * - getCarrito(): Returns the shopping cart associated with the item.
  * - setCarrito(Carrito carrito): Sets the shopping cart associated with the item.
  */
@@ -67,7 +66,7 @@ import lombok.Setter;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Secuencia("item")
     private Long id;
 
     @Column
@@ -96,7 +95,7 @@ public class Item {
         setSubtotal();
         }
         else {
-                throw new IllegalArgumentException("No hay unidades disponibles del producto");
+                throw new ConflictoException("No hay unidades disponibles del producto");
             }
     }
 
@@ -158,12 +157,6 @@ public class Item {
     }
     }
 
-    public void restarUnidades(){
-        if(this.carrito.getComprado()){
-            this.producto.setUnidades(this.producto.getUnidades() - this.unidades);
-            }
-        }
-
     public Carrito getCarrito(){
         return this.carrito;
 
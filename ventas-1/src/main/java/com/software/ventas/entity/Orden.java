@@ -10,8 +10,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.Getter;
@@ -41,8 +40,9 @@ import lombok.Setter;
  * Annotations:
  * - @Entity: Specifies that the class is an entity and is mapped to a database table.
  * - @Table: Specifies the name of the database table to be used for mapping.
+ * - @Index: Declares the index on fecha used by the date range queries and the sales reports.
  * - @Id: Specifies the primary key of the entity.
- * - @GeneratedValue: Provides for the specification of generation strategies for the values of primary keys.
+ * - @Secuencia: Generates the ids from the shared {@link Secuencias} table in blocks reserved on a separate connection pool, so inserts can be batched.
  * - @JsonIgnore: Indicates that the carrito field should be ignored during JSON serialization.
  * - @OneToOne: Specifies a single-valued association to another entity that has one-to-one multiplicity.
  * - @JoinColumn: Specifies the foreign key column.
@@ -91,8 +91,9 @@ import lombok.Setter;
  * Anotaciones:
  * - @Entity: Especifica que la clase es una entidad y está mapeada a una tabla de base de datos.
  * - @Table: Especifica el nombre de la tabla de la base de datos que se utilizará para el mapeo.
+ * - @Index: Declara el índice sobre fecha usado por las consultas por rango de fechas y los reportes de ventas.
  * - @Id: Especifica la clave primaria de la entidad.
- * - @GeneratedValue: Proporciona la especificación de estrategias de generación para los valores de las claves primarias.
+ * - @Secuencia: Genera los ids desde la tabla compartida {@link Secuencias} por bloques reservados en un pool de conexiones aparte, para que las inserciones se puedan agrupar en lotes.
  * - @JsonIgnore: Indica que el campo carrito debe ser ignorado durante la serialización JSON.
  * - @OneToOne: Especifica una asociación de valor único con otra entidad que tiene multiplicidad uno a uno.
  * - @JoinColumn: Especifica la columna de clave foránea.
@@ -121,13 +122,13 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "orden")
+@Table(name = "orden", indexes = @Index(name = "idx_orden_fecha", columnList = "fecha"))
 @Data
 public class Orden {
     
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Secuencia("orden")
     private Long id;
     
     
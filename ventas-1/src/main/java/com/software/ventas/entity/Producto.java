@@ -8,9 +8,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.Getter;
@@ -24,8 +23,9 @@ import lombok.Setter;
  * Annotations:
  * - @Entity: Specifies that the class is an entity and is mapped to a database table.
  * - @Table(name = "producto"): Specifies the name of the database table to be used for mapping.
+ * - @Index: Declares the indexes used by the faceted search: (categoria, genero, talla), marca and precio.
  * - @Id: Specifies the primary key of an entity.
- * - @GeneratedValue(strategy = GenerationType.IDENTITY): Provides the specification of generation strategies for the values of primary keys.
+ * - @Secuencia: Generates the primary key from the shared {@link Secuencias} table, reserving blocks of ids on a separate connection pool so inserts can be batched.
  * - @Column: Specifies the mapped column for a persistent property or field.
  * - @Enumerated(EnumType.STRING): Specifies that a persistent property or field should be persisted as a string representation of an enumerated type.
  * - @Getter and @Setter: Lombok annotations to generate getter and setter methods.
@@ -78,8 +78,9 @@ import lombok.Setter;
  * Anotaciones:
  * - @Entity: Especifica que la clase es una entidad y está mapeada a una tabla de base de datos.
  * - @Table(name = "producto"): Especifica el nombre de la tabla de la base de datos que se utilizará para el mapeo.
+ * - @Index: Declara los índices usados por la búsqueda por facetas: (categoria, genero, talla), marca y precio.
  * - @Id: Especifica la clave primaria de una entidad.
- * - @GeneratedValue(strategy = GenerationType.IDENTITY): Proporciona la especificación de estrategias de generación para los valores de las claves primarias.
+ * - @Secuencia: Genera la clave primaria desde la tabla compartida {@link Secuencias}, reservando bloques de ids en un pool de conexiones aparte para que las inserciones se puedan agrupar en lotes.
  * - @Column: Especifica la columna mapeada para una propiedad o campo persistente.
  * - @Enumerated(EnumType.STRING): Especifica que una propiedad o campo persistente debe ser almacenado como una representación en cadena de un tipo enumerado.
  * - @Getter y @Setter: Anotaciones de Lombok para generar métodos getter y setter.
@@ -128,12 +129,16 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "producto")
+@Table(name = "producto", indexes = {
+    @Index(name = "idx_producto_facetas", columnList = "categoria, genero, talla"),
+    @Index(name = "idx_producto_marca", columnList = "marca"),
+    @Index(name = "idx_producto_precio", columnList = "precio")
+})
 @Data
 public class Producto {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Secuencia("producto")
     public Long id;
 
     @Column
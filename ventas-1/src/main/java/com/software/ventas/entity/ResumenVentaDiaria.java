@@ -0,0 +1,157 @@
+package com.software.ventas.entity;
+
+import java.time.LocalDate;
+
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents a row of the daily sales rollup.
+ * This entity is mapped to the "resumen_venta_diaria" table in the database.
+ * There is one row per day, category and gender with the units sold, the revenue and the number of orders,
+ * so the historical sales reports read one row per day instead of every order.
+ * 
+ * The rows are accumulated with an upsert each time a cart is purchased,
+ * and can be rebuilt from the existing orders with {@code POST /reportes/diario/reconstruir}.
+ * 
+ * Annotations:
+ * - @Entity: Specifies that the class is an entity and is mapped to a database table.
+ * - @Table: Specifies the table name and the unique constraint on (fecha, categoria, genero) used by the upsert.
+ * - @Id: Specifies the primary key of an entity.
+ * - @GeneratedValue: Provides the specification of generation strategies for the primary keys.
+ * - @Column: Specifies the mapped column for a persistent property or field.
+ * - @Convert: Persists the category and the gender as their names, and as {@link #SIN_CLASIFICAR} when the product has none.
+ *   The columns are NOT NULL because MySQL unique keys never match NULL, so the upsert would insert a new row on every order.
+ * - @Getter, @Setter, @Data: Lombok annotations to generate getters, setters and other utility methods.
+ * 
+ * Fields:
+ * - id: The unique identifier for the row.
+ * - fecha: The day of the orders.
+ * - categoria: The category of the products sold.
+ * - genero: The gender of the products sold.
+ * - unidades: The units sold.
+ * - ingresos: The revenue of the units sold.
+ * - ordenes: The number of orders that include products of this category and gender.
+ */
+
+/**
+ * Representa una fila del resumen diario de ventas.
+ * Esta entidad está mapeada a la tabla "resumen_venta_diaria" en la base de datos.
+ * Hay una fila por día, categoría y género con las unidades vendidas, los ingresos y el número de órdenes,
+ * por lo que los reportes históricos de ventas leen una fila por día en lugar de cada orden.
+ * 
+ * Las filas se acumulan con un upsert cada vez que se compra un carrito,
+ * y pueden reconstruirse a partir de las órdenes existentes con {@code POST /reportes/diario/reconstruir}.
+ * 
+ * Anotaciones:
+ * - @Entity: Especifica que la clase es una entidad y está mapeada a una tabla de base de datos.
+ * - @Table: Especifica el nombre de la tabla y la restricción única sobre (fecha, categoria, genero) usada por el upsert.
+ * - @Id: Especifica la clave primaria de una entidad.
+ * - @GeneratedValue: Proporciona la especificación de estrategias de generación para las claves primarias.
+ * - @Column: Especifica la columna mapeada para una propiedad o campo persistente.
+ * - @Convert: Guarda la categoría y el género por su nombre, y como {@link #SIN_CLASIFICAR} cuando el producto no tiene.
+ *   Las columnas son NOT NULL porque las llaves únicas de MySQL nunca coinciden con NULL, así que el upsert insertaría una fila nueva en cada orden.
+ * - @Getter, @Setter, @Data: Anotaciones de Lombok para generar getters, setters y otros métodos utilitarios.
+ * 
+ * Campos:
+ * - id: El identificador único de la fila.
+ * - fecha: El día de las órdenes.
+ * - categoria: La categoría de los productos vendidos.
+ * - genero: El género de los productos vendidos.
+ * - unidades: Las unidades vendidas.
+ * - ingresos: Los ingresos de las unidades vendidas.
+ * - ordenes: El número de órdenes que incluyen productos de esta categoría y género.
+ */
+
+
+@Getter
+@Setter
+@Entity
+@Table(name = "resumen_venta_diaria", uniqueConstraints = @UniqueConstraint(name = "uk_resumen_venta_diaria", columnNames = {"fecha", "categoria", "genero"}))
+@Data
+public class ResumenVentaDiaria {
+
+    public static final String SIN_CLASIFICAR = "SIN_CLASIFICAR";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Convert(converter = CategoriaConverter.class)
+    @Column(nullable = false)
+    private Categoria categoria;
+
+    @Convert(converter = GeneroConverter.class)
+    @Column(nullable = false)
+    private Genero genero;
+
+    @Column(nullable = false)
+    private Long unidades;
+
+    @Column(nullable = false)
+    private Double ingresos;
+
+    @Column(nullable = false)
+    private Long ordenes;
+
+    public ResumenVentaDiaria() {
+    }
+
+    public ResumenVentaDiaria(LocalDate fecha, Categoria categoria, Genero genero) {
+        this.fecha = fecha;
+        this.categoria = categoria;
+        this.genero = genero;
+        this.unidades = 0L;
+        this.ingresos = 0.0;
+        this.ordenes = 1L;
+    }
+
+    public static String columna(Enum<?> valor) {
+        return valor != null ? valor.name() : SIN_CLASIFICAR;
+    }
+
+    public static class CategoriaConverter implements AttributeConverter<Categoria, String> {
+
+        @Override
+        public String convertToDatabaseColumn(Categoria categoria) {
+            return columna(categoria);
+        }
+
+        @Override
+        public Categoria convertToEntityAttribute(String columna) {
+            return columna == null || SIN_CLASIFICAR.equals(columna) ? null : Categoria.valueOf(columna);
+        }
+
+    }
+
+    public static class GeneroConverter implements AttributeConverter<Genero, String> {
+
+        @Override
+        public String convertToDatabaseColumn(Genero genero) {
+            return columna(genero);
+        }
+
+        @Override
+        public Genero convertToEntityAttribute(String columna) {
+            return columna == null || SIN_CLASIFICAR.equals(columna) ? null : Genero.valueOf(columna);
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.software.ventas.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import com.software.ventas.repository.SecuenciaGenerador;
+
+/**
+ * Marks an id generated from the row {@link #value()} of the {@link Secuencias#TABLA} table, in blocks of {@link Secuencias#BLOQUE}.
+ * The blocks are reserved by {@link SecuenciaGenerador} on its own connection pool, never on the connection of the request.
+ *
+ * @see Secuencias
+ */
+
+/**
+ * Marca un id generado desde la fila {@link #value()} de la tabla {@link Secuencias#TABLA}, en bloques de {@link Secuencias#BLOQUE}.
+ * Los bloques los reserva {@link SecuenciaGenerador} en su propio pool de conexiones, nunca en la conexión de la petición.
+ *
+ * @see Secuencias
+ */
+
+@IdGeneratorType(SecuenciaGenerador.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Secuencia {
+
+    String value();
+
+}
@@ -0,0 +1,35 @@
+package com.software.ventas.entity;
+
+/**
+ * Constants of the table-based id generation shared by {@link Producto}, {@link Carrito}, {@link Item} and {@link Orden}.
+ * Each entity keeps a row in the {@link #TABLA} table and reserves {@link #BLOQUE} ids per round trip, so Hibernate knows
+ * the id before the INSERT and can send the inserts in JDBC batches, which IDENTITY columns do not allow.
+ *
+ * @see Secuencia
+ * @see com.software.ventas.config.SecuenciasInicializador
+ */
+
+/**
+ * Constantes de la generación de ids por tabla compartida por {@link Producto}, {@link Carrito}, {@link Item} y {@link Orden}.
+ * Cada entidad guarda una fila en la tabla {@link #TABLA} y reserva {@link #BLOQUE} ids por viaje a la base de datos, así Hibernate
+ * conoce el id antes del INSERT y puede enviar las inserciones en lotes JDBC, algo que las columnas IDENTITY no permiten.
+ *
+ * @see Secuencia
+ * @see com.software.ventas.config.SecuenciasInicializador
+ */
+
+public final class Secuencias {
+
+    public static final String TABLA = "secuencias";
+
+    public static final String COLUMNA_ENTIDAD = "entidad";
+
+    public static final String COLUMNA_VALOR = "siguiente";
+
+    // Cada bloque cuesta una transacción en el pool de secuencias, así que se reserva para cientos de inserciones
+    public static final int BLOQUE = 500;
+
+    private Secuencias() {
+    }
+
+}
@@ -5,7 +5,6 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * Represents a user entity with basic authentication features.
@@ -21,7 +20,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  * <p>Constructors:</p>
  * <ul>
  *   <li>Usuario(): Default no-argument constructor.</li>
- *   <li>Usuario(Long id, String nombre, String contraseña): Constructor with parameters for id, username, and password.</li>
+ *   <li>Usuario(Long id, String nombre, String hash): Constructor with parameters for id, username, and password hash.</li>
  * </ul>
  * 
  * <p>Methods:</p>
@@ -29,15 +28,17 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  *   <li>getNombre(): Returns the username.</li>
  *   <li>setNombre(String nombre): Sets the username.</li>
  *   <li>getHashcontraseña(): Returns the hashed password.</li>
- *   <li>setHashcontraseña(String contraseña): Sets and hashes the password using BCrypt.</li>
- *   <li>verificarContraseña(String contraseña): Verifies if the provided password matches the hashed password.</li>
+ *   <li>setHashcontraseña(String hash): Stores a password hash as is.</li>
+ *   <li>asignarHash(String hash): Sets a password hash already computed by {@code AutenticacionService}.</li>
  * </ul>
+ *
+ * <p>The entity does not hash nor verify passwords: every BCrypt operation goes through {@code AutenticacionService},
+ * which uses the configured cost factor and runs on its bounded pool.</p>
  * 
  * <p>Dependencies:</p>
  * <ul>
  *   <li>jakarta.persistence.MappedSuperclass: JPA annotation for marking a class as a base class.</li>
  *   <li>lombok.Getter, lombok.Setter, lombok.NoArgsConstructor, lombok.AllArgsConstructor: Lombok annotations for generating boilerplate code.</li>
- *   <li>org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder: Utility for hashing and verifying passwords.</li>
  * </ul>
  */
 
@@ -55,7 +56,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  * <p>Constructores:</p>
  * <ul>
  *   <li>Usuario(): Constructor por defecto sin argumentos.</li>
- *   <li>Usuario(Long id, String nombre, String contraseña): Constructor con parámetros para id, nombre de usuario y contraseña.</li>
+ *   <li>Usuario(Long id, String nombre, String hash): Constructor con parámetros para id, nombre de usuario y hash de la contraseña.</li>
  * </ul>
  * 
  * <p>Métodos:</p>
@@ -63,15 +64,17 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  *   <li>getNombre(): Devuelve el nombre de usuario.</li>
  *   <li>setNombre(String nombre): Establece el nombre de usuario.</li>
  *   <li>getHashcontraseña(): Devuelve la contraseña hasheada.</li>
- *   <li>setHashcontraseña(String contraseña): Establece y hashea la contraseña utilizando BCrypt.</li>
- *   <li>verificarContraseña(String contraseña): Verifica si la contraseña proporcionada coincide con la contraseña hasheada.</li>
+ *   <li>setHashcontraseña(String hash): Guarda un hash de contraseña tal cual.</li>
+ *   <li>asignarHash(String hash): Establece un hash de contraseña ya calculado por {@code AutenticacionService}.</li>
  * </ul>
+ *
+ * <p>La entidad no hashea ni verifica contraseñas: cada operación BCrypt pasa por {@code AutenticacionService},
+ * que usa el factor de costo configurado y se ejecuta en su pool acotado.</p>
  * 
  * <p>Dependencias:</p>
  * <ul>
  *   <li>jakarta.persistence.MappedSuperclass: Anotación JPA para marcar una clase como clase base.</li>
  *   <li>lombok.Getter, lombok.Setter, lombok.NoArgsConstructor, lombok.AllArgsConstructor: Anotaciones de Lombok para generar código repetitivo.</li>
- *   <li>org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder: Utilidad para hashear y verificar contraseñas.</li>
  * </ul>
  */
 
@@ -88,9 +91,9 @@ public class Usuario {
     private String nombre_usuario;
     private String hashcontraseña;
     
-    public Usuario(Long id, String nombre, String contraseña) {
+    public Usuario(Long id, String nombre, String hash) {
         this.nombre_usuario = nombre;
-        setHashcontraseña(contraseña);
+        this.hashcontraseña = hash;
     }
       
     public String getNombre() {
@@ -105,13 +108,14 @@ public class Usuario {
         return hashcontraseña;
     }
 
-    public void setHashcontraseña(String contraseña) {
-        this.hashcontraseña = new BCryptPasswordEncoder().encode(contraseña);
+    public void setHashcontraseña(String hash) {
+        this.hashcontraseña = hash;
     }
 
-    public boolean verificarContraseña(String contraseña) {
-        return new BCryptPasswordEncoder().matches(contraseña, this.hashcontraseña);
+    public void asignarHash(String hash) {
+        this.hashcontraseña = hash;
     }
 
 
+
 }
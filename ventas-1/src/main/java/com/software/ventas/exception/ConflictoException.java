@@ -0,0 +1,25 @@
+package com.software.ventas.exception;
+
+/**
+ * Thrown by the services when a request is valid but the current state does not allow it, such as adding or buying more units
+ * than a product has in stock, or buying a cart that was already bought.
+ * {@link com.software.ventas.controller.ManejadorExcepciones} answers it with HTTP 409 and its message.
+ *
+ * @see NoEncontradoException
+ */
+
+/**
+ * Lanzada por los servicios cuando una petición es válida pero el estado actual no la permite, como agregar o comprar más unidades
+ * de las que un producto tiene en existencia, o comprar un carrito que ya fue comprado.
+ * {@link com.software.ventas.controller.ManejadorExcepciones} la responde con HTTP 409 y su mensaje.
+ *
+ * @see NoEncontradoException
+ */
+
+public class ConflictoException extends RuntimeException {
+
+    public ConflictoException(String mensaje) {
+        super(mensaje);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.software.ventas.exception;
+
+/**
+ * Thrown by the services when the entity a request refers to does not exist, such as a cart, an item, a product or a client.
+ * {@link com.software.ventas.controller.ManejadorExcepciones} answers it with HTTP 404 and its message.
+ *
+ * @see ConflictoException
+ */
+
+/**
+ * Lanzada por los servicios cuando la entidad a la que se refiere una petición no existe, como un carrito, un ítem, un producto o un cliente.
+ * {@link com.software.ventas.controller.ManejadorExcepciones} la responde con HTTP 404 y su mensaje.
+ *
+ * @see ConflictoException
+ */
+
+public class NoEncontradoException extends RuntimeException {
+
+    public NoEncontradoException(String mensaje) {
+        super(mensaje);
+    }
+
+}
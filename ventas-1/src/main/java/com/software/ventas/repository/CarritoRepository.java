@@ -1,8 +1,11 @@
 package com.software.ventas.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import com.software.ventas.entity.Carrito;
@@ -16,8 +19,15 @@ import com.software.ventas.entity.Carrito;
  * 
  * <p>Methods:</p>
  * <ul>
+ *   <li>{@link #findAll()}: Retrieves all carts, loading their client and order in the same query.</li>
  *   <li>{@link #findByClienteId(Long)}: Retrieves a list of {@link Carrito} entities 
- *   associated with a specific client ID.</li>
+ *   associated with a specific client ID, loading their client and order in the same query.</li>
+ *   <li>{@link #findParaCompra(Long)}: Retrieves a cart together with its client, items and products in a single query.</li>
+ *   <li>{@link #findClienteId(Long)}: Retrieves only the id of the client that owns a cart.</li>
+ *   <li>{@link #marcarComprado(Long)}: Marks a cart as purchased only if it was not purchased yet,
+ *   returning the number of updated rows.</li>
+ *   <li>{@link #sumarTotal(Long, Double)}: Adds a delta to the total of a cart with a single {@code UPDATE},
+ *   returning the number of updated rows.</li>
  * </ul>
  * 
  * @see JpaRepository
@@ -33,8 +43,15 @@ import com.software.ventas.entity.Carrito;
  * 
  * <p>Métodos:</p>
  * <ul>
+ *   <li>{@link #findAll()}: Recupera todos los carritos, cargando su cliente y su orden en la misma consulta.</li>
  *   <li>{@link #findByClienteId(Long)}: Recupera una lista de entidades {@link Carrito} 
- *   asociadas con un ID de cliente específico.</li>
+ *   asociadas con un ID de cliente específico, cargando su cliente y su orden en la misma consulta.</li>
+ *   <li>{@link #findParaCompra(Long)}: Recupera un carrito junto con su cliente, ítems y productos en una sola consulta.</li>
+ *   <li>{@link #findClienteId(Long)}: Recupera solo el id del cliente dueño de un carrito.</li>
+ *   <li>{@link #marcarComprado(Long)}: Marca un carrito como comprado solo si aún no lo estaba,
+ *   devolviendo el número de filas actualizadas.</li>
+ *   <li>{@link #sumarTotal(Long, Double)}: Suma una diferencia al total de un carrito con un solo {@code UPDATE},
+ *   devolviendo el número de filas actualizadas.</li>
  * </ul>
  * 
  * @see JpaRepository
@@ -45,7 +62,26 @@ import com.software.ventas.entity.Carrito;
 @Repository
 public interface CarritoRepository extends JpaRepository<Carrito, Long> {
 
-@Query("SELECT c FROM Carrito c WHERE c.cliente.id = ?1")
+    @Override
+    @EntityGraph(attributePaths = {"cliente", "orden"})
+    List<Carrito> findAll();
+
+    @EntityGraph(attributePaths = {"cliente", "orden"})
+    @Query("SELECT c FROM Carrito c WHERE c.cliente.id = ?1")
     List<Carrito> findByClienteId(Long clienteId);
+
+    @Query("SELECT DISTINCT c FROM Carrito c JOIN FETCH c.cliente LEFT JOIN FETCH c.items i LEFT JOIN FETCH i.producto WHERE c.id = ?1")
+    Optional<Carrito> findParaCompra(Long id);
+
+    @Query("SELECT c.cliente.id FROM Carrito c WHERE c.id = ?1")
+    Optional<Long> findClienteId(Long id);
+
+    @Modifying
+    @Query("UPDATE Carrito c SET c.comprado = true WHERE c.id = ?1 AND c.comprado = false")
+    int marcarComprado(Long id);
+
+    @Modifying
+    @Query("UPDATE Carrito c SET c.total = COALESCE(c.total, 0) + ?2 WHERE c.id = ?1")
+    int sumarTotal(Long id, Double delta);
     
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.software.ventas.dto.ClienteResumen;
 import com.software.ventas.entity.Cliente;
 
 /**
@@ -21,6 +22,7 @@ import com.software.ventas.entity.Cliente;
  * <p>Methods:</p>
  * <ul>
  * <li>{@link #findByName(String)}: Retrieves a list of clients by username.</li>
+ * <li>{@link #findAllResumen()}: Retrieves all clients as {@link ClienteResumen} projections, ordered by id.</li>
  * </ul>
  * 
  * 
@@ -42,6 +44,7 @@ import com.software.ventas.entity.Cliente;
  * <p>Métodos:</p>
  * <ul>
  * <li>{@link #findByName(String)}: Recupera una lista de clientes por nombre de usuario.</li>
+ * <li>{@link #findAllResumen()}: Recupera todos los clientes como proyecciones {@link ClienteResumen}, ordenados por id.</li>
  * </ul>
  * 
  * 
@@ -55,6 +58,9 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
         // Consulta personalizada para buscar clientes por nombre
     @Query("SELECT c FROM Cliente c WHERE c.nombre_usuario = ?1")
     List<Cliente> findByName(String nombre);
+
+    @Query("SELECT c.id AS id, c.nombre_usuario AS nombre_usuario, c.nombres AS nombres, c.apellidos AS apellidos, c.tipo_documento AS tipo_documento, c.numero_documento AS numero_documento, c.fecha_nacimiento AS fecha_nacimiento FROM Cliente c ORDER BY c.id")
+    List<ClienteResumen> findAllResumen();
 }
 
 
@@ -1,9 +1,14 @@
 package com.software.ventas.repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.software.ventas.dto.ProductoVendido;
 import com.software.ventas.entity.Item;
 
 /**
@@ -14,6 +19,8 @@ import com.software.ventas.entity.Item;
  * Methods:
  * - {@link #findByCarritoId(Long)}: Retrieves a list of items associated with a specific carrito ID.
  * - {@link #findByProductoId(Long)}: Retrieves a list of items associated with a specific producto ID.
+ * - {@link #findClienteId(Long)}: Retrieves only the id of the client that owns the carrito of an item.
+ * - {@link #productosMasVendidos(LocalDate, LocalDate, Pageable)}: Retrieves the products with the most units sold in the orders within a date range.
  * 
  * Annotations:
  * - {@link Repository}: Indicates that this interface is a Spring Data repository.
@@ -31,6 +38,8 @@ import com.software.ventas.entity.Item;
  * Métodos:
  * - {@link #findByCarritoId(Long)}: Recupera una lista de ítems asociados con un ID de carrito específico.
  * - {@link #findByProductoId(Long)}: Recupera una lista de ítems asociados con un ID de producto específico.
+ * - {@link #findClienteId(Long)}: Recupera solo el id del cliente dueño del carrito de un ítem.
+ * - {@link #productosMasVendidos(LocalDate, LocalDate, Pageable)}: Recupera los productos con más unidades vendidas en las órdenes dentro de un rango de fechas.
  * 
  * Anotaciones:
  * - {@link Repository}: Indica que esta interfaz es un repositorio de Spring Data.
@@ -49,4 +58,11 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item i WHERE i.producto.id = ?1")
     List<Item> findByProductoId(Long productoId);
 
+    @Query("SELECT i.carrito.cliente.id FROM Item i WHERE i.id = ?1")
+    Optional<Long> findClienteId(Long id);
+
+    @Query("SELECT p.id AS id, p.nombre AS nombre, SUM(i.unidades) AS unidades, SUM(i.subtotal) AS ingresos FROM Item i JOIN i.producto p JOIN i.carrito c JOIN c.orden o "
+            + "WHERE o.fecha BETWEEN ?1 AND ?2 GROUP BY p.id, p.nombre ORDER BY SUM(i.unidades) DESC, p.id")
+    List<ProductoVendido> productosMasVendidos(LocalDate fecha_inicio, LocalDate fecha_fin, Pageable pageable);
+
 }
\ No newline at end of file
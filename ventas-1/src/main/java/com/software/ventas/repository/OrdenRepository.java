@@ -1,11 +1,23 @@
 package com.software.ventas.repository;
 
 import java.time.LocalDate;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import com.software.ventas.dto.OrdenResumen;
+import com.software.ventas.dto.ResumenVentas;
+import com.software.ventas.dto.VentasDiarias;
+import com.software.ventas.dto.VentasPeriodo;
 import com.software.ventas.entity.Orden;
+
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 
 /**
@@ -15,8 +27,16 @@ import java.util.List;
  * 
  * Methods:
  * 
- * - {@link #findByClienteId(Long clienteId)}: Retrieves a list of orders associated with a specific client ID.
+ * - {@link #findAll()}: Retrieves all orders, loading their cart and client in the same query.
+ * - {@link #findByClienteId(Long clienteId)}: Retrieves a list of orders associated with a specific client ID, loading their cart and client in the same query.
  * - {@link #findByFecha(LocalDate fecha_inicio, LocalDate fecha_fin)}: Retrieves a list of orders within a specified date range.
+ * - {@link #findAllResumen()}: Retrieves all orders as {@link OrdenResumen} projections, ordered by id.
+ * - {@link #streamByFecha(LocalDate, LocalDate)}: Streams the orders within a date range as {@link OrdenResumen} projections,
+ *   reading the rows from the database in chunks of {@link #TAMANO_LECTURA}. Must be consumed inside a transaction and closed.
+ * - {@link #resumenVentas(LocalDate, LocalDate)}: Counts the orders within a date range and sums and averages their totals.
+ * - {@link #ventasPorDia(LocalDate, LocalDate)}, {@link #ventasPorMes(LocalDate, LocalDate)}:
+ *   Group the orders within a date range by day or month with {@code GROUP BY}, returning one row per period.
+ *   The ISO weeks are rolled up from the daily rows by {@link com.software.ventas.service.ReporteService}.
  * 
  * Annotations:
  * 
@@ -34,8 +54,16 @@ import java.util.List;
  * 
  * Métodos:
  * 
- * - {@link #findByClienteId(Long clienteId)}: Recupera una lista de pedidos asociados con un ID de cliente específico.
+ * - {@link #findAll()}: Recupera todos los pedidos, cargando su carrito y su cliente en la misma consulta.
+ * - {@link #findByClienteId(Long clienteId)}: Recupera una lista de pedidos asociados con un ID de cliente específico, cargando su carrito y su cliente en la misma consulta.
  * - {@link #findByFecha(LocalDate fecha_inicio, LocalDate fecha_fin)}: Recupera una lista de pedidos dentro de un rango de fechas específico.
+ * - {@link #findAllResumen()}: Recupera todos los pedidos como proyecciones {@link OrdenResumen}, ordenados por id.
+ * - {@link #streamByFecha(LocalDate, LocalDate)}: Recorre los pedidos dentro de un rango de fechas como proyecciones {@link OrdenResumen},
+ *   leyendo las filas de la base de datos en bloques de {@link #TAMANO_LECTURA}. Debe consumirse dentro de una transacción y cerrarse.
+ * - {@link #resumenVentas(LocalDate, LocalDate)}: Cuenta las órdenes dentro de un rango de fechas y suma y promedia sus totales.
+ * - {@link #ventasPorDia(LocalDate, LocalDate)}, {@link #ventasPorMes(LocalDate, LocalDate)}:
+ *   Agrupan las órdenes dentro de un rango de fechas por día o mes con {@code GROUP BY}, devolviendo una fila por periodo.
+ *   Las semanas ISO se acumulan a partir de las filas diarias en {@link com.software.ventas.service.ReporteService}.
  * 
  * Anotaciones:
  * 
@@ -50,10 +78,34 @@ import java.util.List;
 @Repository
 public interface OrdenRepository extends JpaRepository<Orden, Long> {
 
-    @Query("SELECT o FROM Orden o JOIN o.carrito c WHERE c.cliente.id = ?1")
+    @Override
+    @EntityGraph(attributePaths = {"carrito", "carrito.cliente", "carrito.orden"})
+    List<Orden> findAll();
+
+    @Query("SELECT o FROM Orden o JOIN FETCH o.carrito c JOIN FETCH c.cliente LEFT JOIN FETCH c.orden WHERE c.cliente.id = ?1")
     List<Orden> findByClienteId(Long clienteId);
 
     @Query("SELECT o FROM Orden o WHERE o.fecha BETWEEN ?1 AND ?2")
     List<Orden> findByFecha(LocalDate fecha_inicio, LocalDate fecha_fin);
 
+    @Query("SELECT o.id AS id, o.fecha AS fecha, o.cliente AS cliente, o.total AS total FROM Orden o ORDER BY o.id")
+    List<OrdenResumen> findAllResumen();
+
+    String TAMANO_LECTURA = "1000";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_LECTURA))
+    @Query("SELECT o.id AS id, o.fecha AS fecha, o.cliente AS cliente, o.total AS total FROM Orden o WHERE o.fecha BETWEEN ?1 AND ?2 ORDER BY o.fecha, o.id")
+    Stream<OrdenResumen> streamByFecha(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+    @Query("SELECT COUNT(o) AS ordenes, SUM(o.total) AS ingresos, AVG(o.total) AS ticketPromedio FROM Orden o WHERE o.fecha BETWEEN ?1 AND ?2")
+    ResumenVentas resumenVentas(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+    @Query("SELECT o.fecha AS fecha, COUNT(o) AS ordenes, SUM(o.total) AS ingresos, AVG(o.total) AS ticketPromedio FROM Orden o "
+            + "WHERE o.fecha BETWEEN ?1 AND ?2 GROUP BY o.fecha ORDER BY o.fecha")
+    List<VentasDiarias> ventasPorDia(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+    @Query("SELECT YEAR(o.fecha) AS anio, MONTH(o.fecha) AS periodo, COUNT(o) AS ordenes, SUM(o.total) AS ingresos, AVG(o.total) AS ticketPromedio FROM Orden o "
+            + "WHERE o.fecha BETWEEN ?1 AND ?2 GROUP BY YEAR(o.fecha), MONTH(o.fecha) ORDER BY YEAR(o.fecha), MONTH(o.fecha)")
+    List<VentasPeriodo> ventasPorMes(LocalDate fecha_inicio, LocalDate fecha_fin);
+
 }
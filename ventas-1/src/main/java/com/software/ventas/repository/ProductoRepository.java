@@ -2,9 +2,12 @@ package com.software.ventas.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.software.ventas.dto.ProductoResumen;
 import com.software.ventas.entity.Producto;
 import com.software.ventas.entity.enums.Categoria;
 import com.software.ventas.entity.enums.Genero;
@@ -13,6 +16,8 @@ import com.software.ventas.entity.enums.Talla;
 /**
  * Repository interface for managing {@link Producto} entities.
  * Extends {@link JpaRepository} to provide CRUD operations.
+ * Extends {@link JpaSpecificationExecutor} to run the dynamic queries built by {@link ProductoSpecifications}.
+ * Extends {@link ProductoRepositoryCustom} for the stock updates executed as JDBC batches.
  * Contains custom query methods to find products by various attributes.
  * 
  * Methods:
@@ -20,6 +25,8 @@ import com.software.ventas.entity.enums.Talla;
  * - {@link #findByCategoria(Categoria)}: Finds products by their category.
  * - {@link #findByGenero(Genero)}: Finds products by their gender.
  * - {@link #findByTalla(Talla)}: Finds products by their size.
+ * - {@link #findPaginaDespuesDe(Long, Pageable)}: Finds the products with an id greater than the given cursor, ordered by id.
+ * - {@link #findAllResumen()}: Finds all products as {@link ProductoResumen} projections, ordered by id.
  * 
  * Annotations:
  * - {@link Repository}: Indicates that this interface is a Spring Data repository.
@@ -34,6 +41,8 @@ import com.software.ventas.entity.enums.Talla;
 /**
  * Interfaz de repositorio para gestionar entidades {@link Producto}.
  * Extiende {@link JpaRepository} para proporcionar operaciones CRUD.
+ * Extiende {@link JpaSpecificationExecutor} para ejecutar las consultas dinámicas construidas por {@link ProductoSpecifications}.
+ * Extiende {@link ProductoRepositoryCustom} para las actualizaciones de existencias ejecutadas como lotes JDBC.
  * Contiene métodos de consulta personalizados para encontrar productos por varios atributos.
  * 
  * Métodos:
@@ -41,6 +50,8 @@ import com.software.ventas.entity.enums.Talla;
  * - {@link #findByCategoria(Categoria)}: Encuentra productos por su categoría.
  * - {@link #findByGenero(Genero)}: Encuentra productos por su género.
  * - {@link #findByTalla(Talla)}: Encuentra productos por su talla.
+ * - {@link #findPaginaDespuesDe(Long, Pageable)}: Encuentra los productos con id mayor al cursor dado, ordenados por id.
+ * - {@link #findAllResumen()}: Encuentra todos los productos como proyecciones {@link ProductoResumen}, ordenados por id.
  * 
  * Anotaciones:
  * - {@link Repository}: Indica que esta interfaz es un repositorio de Spring Data.
@@ -54,7 +65,7 @@ import com.software.ventas.entity.enums.Talla;
 
 
 @Repository
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
+public interface ProductoRepository extends JpaRepository<Producto, Long>, JpaSpecificationExecutor<Producto>, ProductoRepositoryCustom {
     @Query("SELECT p FROM Producto p WHERE p.nombre = ?1")
     List<Producto> findByName(String nombre);
 
@@ -66,4 +77,10 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
 
     @Query("SELECT p FROM Producto p WHERE p.talla = ?1")
     List<Producto> findByTalla(Talla talla);
+
+    @Query("SELECT p FROM Producto p WHERE p.id > ?1 ORDER BY p.id ASC")
+    List<Producto> findPaginaDespuesDe(Long despues, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.nombre AS nombre, p.Precio AS precio, p.imagen AS imagen, p.descripcion AS descripcion, p.unidades AS unidades, p.genero AS genero, p.categoria AS categoria, p.marca AS marca, p.talla AS talla FROM Producto p ORDER BY p.id")
+    List<ProductoResumen> findAllResumen();
 }
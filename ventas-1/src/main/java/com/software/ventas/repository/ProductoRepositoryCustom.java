@@ -0,0 +1,41 @@
+package com.software.ventas.repository;
+
+import java.util.SortedMap;
+
+import com.software.ventas.entity.Producto;
+
+/**
+ * Custom fragment of {@link ProductoRepository} for operations that are executed directly with JDBC.
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #restarUnidadesEnLote(SortedMap)}: Subtracts units from several products in a single JDBC batch.
+ *   Each product is only updated if it has enough stock; the returned array has the number of updated rows per product,
+ *   in ascending id order. The rows are locked in that same order, so two concurrent checkouts cannot deadlock on them.</li>
+ * </ul>
+ *
+ * @see ProductoRepository
+ * @see ProductoRepositoryCustomImpl
+ * @see Producto
+ */
+
+/**
+ * Fragmento personalizado de {@link ProductoRepository} para operaciones que se ejecutan directamente con JDBC.
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #restarUnidadesEnLote(SortedMap)}: Resta unidades de varios productos en un único lote JDBC.
+ *   Cada producto solo se actualiza si tiene existencias suficientes; el arreglo devuelto tiene el número de filas actualizadas por producto,
+ *   en orden ascendente de id. Las filas se bloquean en ese mismo orden, así dos compras concurrentes no pueden interbloquearse en ellas.</li>
+ * </ul>
+ *
+ * @see ProductoRepository
+ * @see ProductoRepositoryCustomImpl
+ * @see Producto
+ */
+
+public interface ProductoRepositoryCustom {
+
+    int[] restarUnidadesEnLote(SortedMap<Long, Integer> unidadesPorProducto);
+
+}
@@ -0,0 +1,44 @@
+package com.software.ventas.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link ProductoRepositoryCustom}.
+ * Uses the {@link JdbcTemplate} bound to the current transaction, so the batch takes part
+ * in the same transaction as the JPA operations of the caller.
+ *
+ * @see ProductoRepositoryCustom
+ */
+
+/**
+ * Implementación JDBC de {@link ProductoRepositoryCustom}.
+ * Usa el {@link JdbcTemplate} ligado a la transacción actual, de modo que el lote participa
+ * en la misma transacción que las operaciones JPA de quien lo invoca.
+ *
+ * @see ProductoRepositoryCustom
+ */
+
+public class ProductoRepositoryCustomImpl implements ProductoRepositoryCustom {
+
+    private static final String RESTAR_UNIDADES =
+            "UPDATE producto SET unidades = unidades - ? WHERE id = ? AND unidades >= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] restarUnidadesEnLote(SortedMap<Long, Integer> unidadesPorProducto) {
+        List<Object[]> parametros = new ArrayList<>(unidadesPorProducto.size());
+        for (Map.Entry<Long, Integer> entrada : unidadesPorProducto.entrySet()) {
+            parametros.add(new Object[] { entrada.getValue(), entrada.getKey(), entrada.getValue() });
+        }
+        return jdbcTemplate.batchUpdate(RESTAR_UNIDADES, parametros);
+    }
+
+}
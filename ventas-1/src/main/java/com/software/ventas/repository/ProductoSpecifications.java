@@ -0,0 +1,85 @@
+package com.software.ventas.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Factory of {@link Specification} objects for {@link Producto} queries.
+ * Builds a single query whose WHERE clause only contains the filters that were provided,
+ * so any combination of facets is resolved in one round trip to the database.
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #conFiltros(Categoria, Genero, Talla, String, Double, Double, Boolean)}: Builds the specification for the given filters. Null filters are ignored.</li>
+ *   <li>{@link #conIds(Collection)}: Restricts the query to the given ids, such as those resolved by the in-memory catalog index.</li>
+ * </ul>
+ *
+ * @see ProductoRepository
+ * @see Producto
+ */
+
+/**
+ * Fábrica de objetos {@link Specification} para consultas de {@link Producto}.
+ * Construye una única consulta cuya cláusula WHERE solo contiene los filtros recibidos,
+ * de modo que cualquier combinación de facetas se resuelve en un solo viaje a la base de datos.
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #conFiltros(Categoria, Genero, Talla, String, Double, Double, Boolean)}: Construye la especificación para los filtros dados. Los filtros nulos se ignoran.</li>
+ *   <li>{@link #conIds(Collection)}: Restringe la consulta a los ids dados, como los que resuelve el índice del catálogo en memoria.</li>
+ * </ul>
+ *
+ * @see ProductoRepository
+ * @see Producto
+ */
+
+public final class ProductoSpecifications {
+
+    private ProductoSpecifications() {
+    }
+
+    public static Specification<Producto> conFiltros(Categoria categoria, Genero genero, Talla talla, String marca,
+            Double precioMin, Double precioMax, Boolean enStock) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            // El orden de los predicados sigue el del índice compuesto (categoria, genero, talla)
+            if (categoria != null) {
+                predicados.add(cb.equal(root.get("categoria"), categoria));
+            }
+            if (genero != null) {
+                predicados.add(cb.equal(root.get("genero"), genero));
+            }
+            if (talla != null) {
+                predicados.add(cb.equal(root.get("talla"), talla));
+            }
+            if (marca != null && !marca.isBlank()) {
+                predicados.add(cb.equal(root.get("marca"), marca));
+            }
+            if (precioMin != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.<Double>get("Precio"), precioMin));
+            }
+            if (precioMax != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.<Double>get("Precio"), precioMax));
+            }
+            if (Boolean.TRUE.equals(enStock)) {
+                predicados.add(cb.greaterThan(root.<Integer>get("unidades"), 0));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Producto> conIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.software.ventas.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.software.ventas.dto.VentasPorCategoria;
+import com.software.ventas.dto.VentasPorGenero;
+import com.software.ventas.entity.ResumenVentaDiaria;
+
+/**
+ * Repository interface for managing {@link ResumenVentaDiaria} entities.
+ * Extends {@link JpaRepository} to provide CRUD operations, and {@link ResumenVentaDiariaRepositoryCustom} to add an order to the rollup in a JDBC batch.
+ * 
+ * Methods:
+ * - {@link #vaciar()}: Deletes every row of the rollup.
+ * - {@link #reconstruir()}: Fills the rollup from the existing orders with a single {@code INSERT ... SELECT}. Returns the number of rows inserted.
+ * - {@link #contarSinClasificar()}: Counts the rows with a NULL category or gender, left by the versions that did not use {@link ResumenVentaDiaria#SIN_CLASIFICAR}.
+ * - {@link #sumarUnidades()} and {@link #sumarUnidadesVendidas()}: Sum the units of the rollup and the units of the purchased items, which match when no order is missing.
+ * - {@link #contarColumnasPorMigrar()}: Counts the category and gender columns still created as nullable or non-text by older versions, on MySQL.
+ * - {@link #migrarColumnas()}: Changes both columns to NOT NULL {@code VARCHAR}. The rollup must be empty first.
+ * - {@link #findByFecha(LocalDate, LocalDate)}: Retrieves the rows within a date range, ordered by day.
+ * - {@link #ventasPorCategoria(LocalDate, LocalDate)}: Sums the units and revenue per category within a date range.
+ * - {@link #ventasPorGenero(LocalDate, LocalDate)}: Sums the units and revenue per gender within a date range.
+ * 
+ * Annotations:
+ * - {@link Repository}: Indicates that this interface is a Spring Data repository.
+ * - {@link Query}: Specifies custom JPQL and native queries for the methods.
+ * - {@link Modifying}: Indicates that the query changes the database.
+ * 
+ * @see ResumenVentaDiaria
+ * @see JpaRepository
+ */
+
+/**
+ * Interfaz de repositorio para gestionar entidades {@link ResumenVentaDiaria}.
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD, y {@link ResumenVentaDiariaRepositoryCustom} para sumar una orden al resumen en un lote JDBC.
+ * 
+ * Métodos:
+ * - {@link #vaciar()}: Elimina todas las filas del resumen.
+ * - {@link #reconstruir()}: Llena el resumen a partir de las órdenes existentes con un solo {@code INSERT ... SELECT}. Devuelve el número de filas insertadas.
+ * - {@link #contarSinClasificar()}: Cuenta las filas con categoría o género NULL, dejadas por las versiones que no usaban {@link ResumenVentaDiaria#SIN_CLASIFICAR}.
+ * - {@link #sumarUnidades()} y {@link #sumarUnidadesVendidas()}: Suman las unidades del resumen y las de los ítems comprados, que coinciden cuando no falta ninguna orden.
+ * - {@link #contarColumnasPorMigrar()}: Cuenta las columnas de categoría y género que versiones anteriores dejaron nulables o no textuales, en MySQL.
+ * - {@link #migrarColumnas()}: Cambia ambas columnas a {@code VARCHAR} NOT NULL. El resumen debe estar vacío antes.
+ * - {@link #findByFecha(LocalDate, LocalDate)}: Recupera las filas dentro de un rango de fechas, ordenadas por día.
+ * - {@link #ventasPorCategoria(LocalDate, LocalDate)}: Suma las unidades e ingresos por categoría dentro de un rango de fechas.
+ * - {@link #ventasPorGenero(LocalDate, LocalDate)}: Suma las unidades e ingresos por género dentro de un rango de fechas.
+ * 
+ * Anotaciones:
+ * - {@link Repository}: Indica que esta interfaz es un repositorio de Spring Data.
+ * - {@link Query}: Especifica consultas JPQL y nativas personalizadas para los métodos.
+ * - {@link Modifying}: Indica que la consulta modifica la base de datos.
+ * 
+ * @see ResumenVentaDiaria
+ * @see JpaRepository
+ */
+
+
+@Repository
+public interface ResumenVentaDiariaRepository extends JpaRepository<ResumenVentaDiaria, Long>, ResumenVentaDiariaRepositoryCustom {
+
+    @Modifying
+    @Query(value = "DELETE FROM resumen_venta_diaria", nativeQuery = true)
+    int vaciar();
+
+    @Modifying
+    @Query(value = "INSERT INTO resumen_venta_diaria (fecha, categoria, genero, unidades, ingresos, ordenes) "
+            + "SELECT o.fecha, COALESCE(p.categoria, '" + ResumenVentaDiaria.SIN_CLASIFICAR + "'), "
+            + "COALESCE(p.genero, '" + ResumenVentaDiaria.SIN_CLASIFICAR + "'), SUM(i.unidades), SUM(i.subtotal), COUNT(DISTINCT o.id) "
+            + "FROM item i JOIN producto p ON p.id = i.producto_id JOIN carrito c ON c.id = i.carrito_id JOIN orden o ON o.id = c.orden_id "
+            + "GROUP BY o.fecha, COALESCE(p.categoria, '" + ResumenVentaDiaria.SIN_CLASIFICAR + "'), "
+            + "COALESCE(p.genero, '" + ResumenVentaDiaria.SIN_CLASIFICAR + "')", nativeQuery = true)
+    int reconstruir();
+
+    @Query(value = "SELECT COUNT(*) FROM resumen_venta_diaria WHERE categoria IS NULL OR genero IS NULL", nativeQuery = true)
+    long contarSinClasificar();
+
+    @Query(value = "SELECT COALESCE(SUM(unidades), 0) FROM resumen_venta_diaria", nativeQuery = true)
+    long sumarUnidades();
+
+    @Query(value = "SELECT COALESCE(SUM(i.unidades), 0) FROM item i JOIN carrito c ON c.id = i.carrito_id JOIN orden o ON o.id = c.orden_id",
+            nativeQuery = true)
+    long sumarUnidadesVendidas();
+
+    @Query(value = "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'resumen_venta_diaria' "
+            + "AND column_name IN ('categoria', 'genero') AND (is_nullable = 'YES' OR data_type <> 'varchar')", nativeQuery = true)
+    long contarColumnasPorMigrar();
+
+    @Modifying
+    @Query(value = "ALTER TABLE resumen_venta_diaria MODIFY categoria VARCHAR(255) NOT NULL, MODIFY genero VARCHAR(255) NOT NULL", nativeQuery = true)
+    int migrarColumnas();
+
+    @Query("SELECT r FROM ResumenVentaDiaria r WHERE r.fecha BETWEEN ?1 AND ?2 ORDER BY r.fecha, r.categoria, r.genero")
+    List<ResumenVentaDiaria> findByFecha(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+    @Query("SELECT r.categoria AS categoria, SUM(r.unidades) AS unidades, SUM(r.ingresos) AS ingresos FROM ResumenVentaDiaria r "
+            + "WHERE r.fecha BETWEEN ?1 AND ?2 GROUP BY r.categoria ORDER BY SUM(r.ingresos) DESC")
+    List<VentasPorCategoria> ventasPorCategoria(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+    @Query("SELECT r.genero AS genero, SUM(r.unidades) AS unidades, SUM(r.ingresos) AS ingresos FROM ResumenVentaDiaria r "
+            + "WHERE r.fecha BETWEEN ?1 AND ?2 GROUP BY r.genero ORDER BY SUM(r.ingresos) DESC")
+    List<VentasPorGenero> ventasPorGenero(LocalDate fecha_inicio, LocalDate fecha_fin);
+
+}
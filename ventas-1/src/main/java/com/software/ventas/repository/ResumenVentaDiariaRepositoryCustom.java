@@ -0,0 +1,41 @@
+package com.software.ventas.repository;
+
+import java.util.List;
+
+import com.software.ventas.entity.ResumenVentaDiaria;
+
+/**
+ * Custom fragment of {@link ResumenVentaDiariaRepository} for operations that are executed directly with JDBC.
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #acumularEnLote(List)}: Adds the units and revenue of an order to the rows of its day, category and gender in a single
+ *   JDBC batch, inserting the rows that do not exist ({@code INSERT ... ON DUPLICATE KEY UPDATE}). The rows are written, and locked,
+ *   in the order of the list, which the caller sorts by the unique key so concurrent checkouts cannot deadlock on them.</li>
+ * </ul>
+ *
+ * @see ResumenVentaDiariaRepository
+ * @see ResumenVentaDiariaRepositoryCustomImpl
+ * @see ResumenVentaDiaria
+ */
+
+/**
+ * Fragmento personalizado de {@link ResumenVentaDiariaRepository} para operaciones que se ejecutan directamente con JDBC.
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #acumularEnLote(List)}: Suma las unidades e ingresos de una orden a las filas de su día, categoría y género en un único
+ *   lote JDBC, insertando las filas que no existen ({@code INSERT ... ON DUPLICATE KEY UPDATE}). Las filas se escriben, y se bloquean,
+ *   en el orden de la lista, que quien llama ordena por la llave única para que compras concurrentes no se interbloqueen en ellas.</li>
+ * </ul>
+ *
+ * @see ResumenVentaDiariaRepository
+ * @see ResumenVentaDiariaRepositoryCustomImpl
+ * @see ResumenVentaDiaria
+ */
+
+public interface ResumenVentaDiariaRepositoryCustom {
+
+    int[] acumularEnLote(List<ResumenVentaDiaria> filas);
+
+}
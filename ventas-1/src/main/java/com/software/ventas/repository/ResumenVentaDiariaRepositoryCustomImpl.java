@@ -0,0 +1,46 @@
+package com.software.ventas.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.software.ventas.entity.ResumenVentaDiaria;
+
+/**
+ * JDBC implementation of {@link ResumenVentaDiariaRepositoryCustom}.
+ * Uses the {@link JdbcTemplate} bound to the current transaction, so the batch takes part in the transaction of the checkout,
+ * and, unlike a native JPA query, does not flush the persistence context while the rows are locked.
+ *
+ * @see ResumenVentaDiariaRepositoryCustom
+ */
+
+/**
+ * Implementación JDBC de {@link ResumenVentaDiariaRepositoryCustom}.
+ * Usa el {@link JdbcTemplate} ligado a la transacción actual, de modo que el lote participa en la transacción de la compra
+ * y, a diferencia de una consulta nativa de JPA, no vacía el contexto de persistencia mientras las filas están bloqueadas.
+ *
+ * @see ResumenVentaDiariaRepositoryCustom
+ */
+
+public class ResumenVentaDiariaRepositoryCustomImpl implements ResumenVentaDiariaRepositoryCustom {
+
+    private static final String ACUMULAR =
+            "INSERT INTO resumen_venta_diaria (fecha, categoria, genero, unidades, ingresos, ordenes) VALUES (?, ?, ?, ?, ?, 1) "
+            + "ON DUPLICATE KEY UPDATE unidades = unidades + VALUES(unidades), ingresos = ingresos + VALUES(ingresos), ordenes = ordenes + 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] acumularEnLote(List<ResumenVentaDiaria> filas) {
+        List<Object[]> parametros = new ArrayList<>(filas.size());
+        for (ResumenVentaDiaria fila : filas) {
+            parametros.add(new Object[] { fila.getFecha(), ResumenVentaDiaria.columna(fila.getCategoria()),
+                    ResumenVentaDiaria.columna(fila.getGenero()), fila.getUnidades(), fila.getIngresos() });
+        }
+        return jdbcTemplate.batchUpdate(ACUMULAR, parametros);
+    }
+
+}
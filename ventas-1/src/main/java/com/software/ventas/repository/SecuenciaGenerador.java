@@ -0,0 +1,63 @@
+package com.software.ventas.repository;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import com.software.ventas.entity.Secuencia;
+import com.software.ventas.entity.Secuencias;
+
+/**
+ * Hibernate id generator of the entities annotated with {@link Secuencia}.
+ * It hands out the ids of the current block from memory and asks {@link SecuenciasReserva} for a new block of
+ * {@link Secuencias#BLOQUE} ids when it runs out. Hibernate knows each id before the INSERT, so the inserts are still sent in JDBC batches.
+ *
+ * <p>The {@link SecuenciasReserva} comes from the Hibernate settings under {@link #RESERVA}, where {@code SecuenciasConfig} puts it.</p>
+ *
+ * @see SecuenciasReserva
+ */
+
+/**
+ * Generador de ids de Hibernate para las entidades anotadas con {@link Secuencia}.
+ * Entrega desde memoria los ids del bloque actual y pide a {@link SecuenciasReserva} un bloque nuevo de {@link Secuencias#BLOQUE}
+ * ids cuando se agota. Hibernate conoce cada id antes del INSERT, así las inserciones se siguen enviando en lotes JDBC.
+ *
+ * <p>La {@link SecuenciasReserva} se toma de la configuración de Hibernate bajo {@link #RESERVA}, donde la deja {@code SecuenciasConfig}.</p>
+ *
+ * @see SecuenciasReserva
+ */
+
+public class SecuenciaGenerador implements IdentifierGenerator {
+
+    public static final String RESERVA = "ventas.secuencias.reserva";
+
+    private final String entidad;
+
+    private final SecuenciasReserva reserva;
+
+    private long siguiente;
+
+    private long limite = -1;
+
+    public SecuenciaGenerador(Secuencia secuencia, Member miembro, CustomIdGeneratorCreationContext contexto) {
+        this.entidad = secuencia.value();
+        this.reserva = (SecuenciasReserva) contexto.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(RESERVA);
+        if (reserva == null) {
+            throw new IllegalStateException("Falta la configuración " + RESERVA + " para generar los ids de " + entidad);
+        }
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object entidadNueva) {
+        if (siguiente > limite) {
+            limite = reserva.reservar(entidad, Secuencias.BLOQUE);
+            siguiente = limite - Secuencias.BLOQUE + 1;
+        }
+        return siguiente++;
+    }
+
+}
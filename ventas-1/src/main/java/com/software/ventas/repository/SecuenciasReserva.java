@@ -0,0 +1,107 @@
+package com.software.ventas.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.software.ventas.entity.Secuencias;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Reserves blocks of ids in the {@link Secuencias#TABLA} table through a Hikari pool used only for that.
+ * Each reservation is its own short transaction: it adds the block to the row of the entity and reads the new value, so the row
+ * lock is taken by the UPDATE and released at once. The value read before the reservation is the end of the block, the same
+ * convention as the pooled optimizer of Hibernate, so {@code SecuenciasInicializador} and the rows already written keep working.
+ *
+ * <p>Requests already hold a connection of the application pool while they insert. Taking the reservation from that same pool made
+ * every request wait for a second connection under load; a separate pool of {@code ventas.secuencias.conexiones} connections
+ * can always make progress.</p>
+ *
+ * @see SecuenciaGenerador
+ * @see com.software.ventas.config.SecuenciasConfig
+ */
+
+/**
+ * Reserva bloques de ids en la tabla {@link Secuencias#TABLA} con un pool Hikari usado solo para eso.
+ * Cada reserva es una transacción corta propia: suma el bloque a la fila de la entidad y lee el nuevo valor, así el bloqueo de la
+ * fila lo toma el UPDATE y se libera enseguida. El valor leído antes de la reserva es el final del bloque, la misma convención del
+ * optimizador pooled de Hibernate, así {@code SecuenciasInicializador} y las filas ya escritas siguen funcionando.
+ *
+ * <p>Las peticiones ya retienen una conexión del pool de la aplicación mientras insertan. Tomar la reserva de ese mismo pool hacía
+ * que, con carga, cada petición esperara una segunda conexión; un pool aparte de {@code ventas.secuencias.conexiones} conexiones
+ * siempre puede avanzar.</p>
+ *
+ * @see SecuenciaGenerador
+ * @see com.software.ventas.config.SecuenciasConfig
+ */
+
+public class SecuenciasReserva implements AutoCloseable {
+
+    private static final String SUMAR = "UPDATE " + Secuencias.TABLA + " SET " + Secuencias.COLUMNA_VALOR + " = "
+            + Secuencias.COLUMNA_VALOR + " + ? WHERE " + Secuencias.COLUMNA_ENTIDAD + " = ?";
+
+    private static final String LEER = "SELECT " + Secuencias.COLUMNA_VALOR + " FROM " + Secuencias.TABLA + " WHERE "
+            + Secuencias.COLUMNA_ENTIDAD + " = ?";
+
+    private static final String INSERTAR = "INSERT INTO " + Secuencias.TABLA + " (" + Secuencias.COLUMNA_ENTIDAD + ", "
+            + Secuencias.COLUMNA_VALOR + ") VALUES (?, ?)";
+
+    private final HikariDataSource dataSource;
+
+    public SecuenciasReserva(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Returns the last id of a new block of {@code bloque} ids for {@code entidad}; the block starts at that value minus {@code bloque} plus one.
+     *
+     * Devuelve el último id de un nuevo bloque de {@code bloque} ids para {@code entidad}; el bloque empieza en ese valor menos {@code bloque} más uno.
+     */
+    public long reservar(String entidad, int bloque) {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.setAutoCommit(false);
+            try {
+                long fin = sumar(conexion, entidad, bloque);
+                conexion.commit();
+                return fin;
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No se pudo reservar un bloque de ids para " + entidad, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private static long sumar(Connection conexion, String entidad, int bloque) throws SQLException {
+        try (PreparedStatement sumar = conexion.prepareStatement(SUMAR)) {
+            sumar.setInt(1, bloque);
+            sumar.setString(2, entidad);
+            if (sumar.executeUpdate() == 0) {
+                // Entidad sin fila: el primer bloque es 1..bloque y la fila queda en el final del siguiente
+                try (PreparedStatement insertar = conexion.prepareStatement(INSERTAR)) {
+                    insertar.setString(1, entidad);
+                    insertar.setLong(2, 2L * bloque);
+                    insertar.executeUpdate();
+                }
+                return bloque;
+            }
+        }
+        try (PreparedStatement leer = conexion.prepareStatement(LEER)) {
+            leer.setString(1, entidad);
+            try (ResultSet fila = leer.executeQuery()) {
+                fila.next();
+                return fila.getLong(1) - bloque;
+            }
+        }
+    }
+
+}
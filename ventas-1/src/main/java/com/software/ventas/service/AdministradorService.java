@@ -2,13 +2,20 @@ package com.software.ventas.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import com.software.ventas.entity.Administrador;
+import com.software.ventas.exception.NoEncontradoException;
 import com.software.ventas.repository.AdministradorRepository;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Service class for managing {@link Administrador} entities.
  * This class provides methods for CRUD operations and authentication for administrators.
@@ -19,8 +26,9 @@ import com.software.ventas.repository.AdministradorRepository;
  *   <li>{@link #findById(Long)}: Retrieves an administrator by their ID.</li>
  *   <li>{@link #findByNombre(String)}: Retrieves a list of administrators by their name.</li>
  *   <li>{@link #ingresarUsuario(String, String)}: Validates administrator credentials.</li>
+ *   <li>{@link #autenticar(String, String)}: Returns the administrator whose credentials are valid, if any.</li>
  *   <li>{@link #create(Administrador, String)}: Creates a new administrator.</li>
- *   <li>{@link #updateById(Long, Administrador)}: Updates an existing administrator by their ID.</li>
+ *   <li>{@link #updateById(Long, Administrador)}: Updates the name of an existing administrator by their ID. The password hash of the body is ignored.</li>
  *   <li>{@link #updateContrasena(Long, String, String)}: Updates the administrator's password.</li>
  *   <li>{@link #deleteById(Long)}: Deletes an administrator by their ID.</li>
  * </ul>
@@ -29,10 +37,13 @@ import com.software.ventas.repository.AdministradorRepository;
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
  * </ul>
  * 
  * @see Administrador
  * @see AdministradorRepository
+ * @see AutenticacionService
  */
 
 /**
@@ -45,8 +56,9 @@ import com.software.ventas.repository.AdministradorRepository;
  *   <li>{@link #findById(Long)}: Recupera un administrador por su ID.</li>
  *   <li>{@link #findByNombre(String)}: Recupera una lista de administradores por su nombre.</li>
  *   <li>{@link #ingresarUsuario(String, String)}: Valida las credenciales del administrador.</li>
+ *   <li>{@link #autenticar(String, String)}: Devuelve el administrador cuyas credenciales son válidas, si existe.</li>
  *   <li>{@link #create(Administrador, String)}: Crea un nuevo administrador.</li>
- *   <li>{@link #updateById(Long, Administrador)}: Actualiza un administrador existente por su ID.</li>
+ *   <li>{@link #updateById(Long, Administrador)}: Actualiza el nombre de un administrador existente por su ID. El hash de contraseña del cuerpo se ignora.</li>
  *   <li>{@link #updateContrasena(Long, String, String)}: Actualiza la contraseña del administrador.</li>
  *   <li>{@link #deleteById(Long)}: Elimina un administrador por su ID.</li>
  * </ul>
@@ -55,19 +67,31 @@ import com.software.ventas.repository.AdministradorRepository;
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
  * </ul>
  * 
  * @see Administrador
  * @see AdministradorRepository
+ * @see AutenticacionService
  */
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class AdministradorService {
     
     @Autowired
     private AdministradorRepository administradorRepository;
 
+    @Autowired
+    private AutenticacionService autenticacionService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor tareas;
+
     public List<Administrador> findAll() {
         return administradorRepository.findAll();
     }
@@ -80,29 +104,23 @@ public class AdministradorService {
         return administradorRepository.findByName(nombre);
     }
 
-    public boolean ingresarUsuario(String nombre, String contrasena) {
-        // Buscar el administrador por nombre
-        List<Administrador> administradores = administradorRepository.findByName(nombre);
-
-        // Verificar si la lista está vacía
-        if (administradores.isEmpty()) {
-            // Si no se encuentra el administrador, las credenciales son inválidas
-            return false;
-        }
-
-        Administrador administrador = administradores.get(0);
+    public CompletableFuture<Boolean> ingresarUsuario(String nombre, String contrasena) {
+        return autenticar(nombre, contrasena).thenApply(Optional::isPresent);
+    }
 
-        // Verificar si el administrador existe y la contraseña coincide
-        if (administrador != null && administrador.verificarContraseña(contrasena)) {
-            // Credenciales válidas
-            return true;
+    public CompletableFuture<Optional<Administrador>> autenticar(String nombre, String contrasena) {
+        // Una sola búsqueda por nombre y una sola verificación de la contraseña, en el pool de hashing
+        List<Administrador> administradores = administradorRepository.findByName(nombre);
+        CompletableFuture<Optional<Administrador>> administrador = autenticacionService.autenticar(administradores, contrasena);
+        if (administradores.isEmpty() || !autenticacionService.requiereRehash(administradores.get(0))) {
+            return administrador;
         }
-        // Credenciales inválidas
-        return false;
+        // El hash migrado se guarda en su propia transacción fuera del pool de hashing, que no debe esperar conexiones
+        return administrador.thenApplyAsync(autenticado -> autenticado.map(administradorRepository::save), tareas);
     }
     
     public Administrador create(Administrador administrador, String contrasena) {
-        administrador.setHashcontraseña(contrasena);
+        administrador.asignarHash(autenticacionService.codificar(contrasena));
         return administradorRepository.save(administrador);
     }
 
@@ -110,8 +128,8 @@ public class AdministradorService {
         Optional<Administrador> administradorOptional = administradorRepository.findById(id);
         if (administradorOptional.isPresent()) {
             Administrador administradorActualizado = administradorOptional.get();
+            // El hash del cuerpo se ignora: la contraseña solo cambia con updateContrasena, que la verifica y la hashea
             administradorActualizado.setNombre(administrador.getNombre());
-            administradorActualizado.setHashcontraseña(administrador.getHashcontraseña());
             return administradorRepository.save(administradorActualizado);
         }
         return null;
@@ -119,9 +137,9 @@ public class AdministradorService {
     
     public Administrador updateContrasena(Long id, String password, String newPassword) {
         Administrador administradorToUpdate = administradorRepository.findById(id)
-        .orElseThrow(() -> new IllegalArgumentException("Administrador no encontrado"));
-        if (administradorToUpdate.verificarContraseña(password)) {
-            administradorToUpdate.setHashcontraseña(newPassword);
+        .orElseThrow(() -> new NoEncontradoException("Administrador no encontrado"));
+        if (autenticacionService.verificar(administradorToUpdate, password)) {
+            administradorToUpdate.asignarHash(autenticacionService.codificar(newPassword));
             return administradorRepository.save(administradorToUpdate);
         }
         else{
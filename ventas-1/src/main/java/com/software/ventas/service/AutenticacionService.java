@@ -0,0 +1,198 @@
+package com.software.ventas.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.software.ventas.entity.Usuario;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service class that authenticates clients and administrators.
+ * It is shared by {@link ClienteService} and {@link AdministradorService} and uses a single, reusable
+ * {@link BCryptPasswordEncoder} whose cost factor is configured with {@code ventas.seguridad.bcrypt-fuerza}.
+ *
+ * <p>Every BCrypt operation runs on a dedicated pool of {@code ventas.seguridad.hilos-hash} threads with a queue of
+ * {@code ventas.seguridad.cola-hash} tasks, so a burst of logins cannot take every request thread. When the queue is full
+ * the task is rejected immediately with a {@link RejectedExecutionException}, which is answered with HTTP 429.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code executor.*} with tag {@code name=hash-contrasenas}: Queue depth, active threads and wait time of the pool.</li>
+ *   <li>{@code ventas.autenticacion.hash}: Latency of each BCrypt hash or verification.</li>
+ *   <li>{@code ventas.autenticacion.rechazos}: Tasks rejected because the pool was saturated.</li>
+ * </ul>
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #codificar(String)}: Hashes a password with the configured cost factor.</li>
+ *   <li>{@link #verificar(Usuario, String)}: Verifies a password against the hash of a user.</li>
+ *   <li>{@link #autenticar(List, String)}: Authenticates the user found by a single lookup without blocking the request thread.
+ *       When the password is correct and the hash was computed with a different cost factor, the returned user carries the new hash.</li>
+ *   <li>{@link #requiereRehash(Usuario)}: Tells whether the hash of a user was computed with a different cost factor, or is not a BCrypt hash, so the caller
+ *       saves the user returned by {@link #autenticar(List, String)}. The pool never touches the database.</li>
+ * </ul>
+ *
+ * <p>Dependencies:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
+ *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ * </ul>
+ *
+ * @see Usuario
+ * @see com.software.ventas.config.SeguridadConfig
+ *
+ * Clase de servicio que autentica clientes y administradores.
+ * Es compartida por {@link ClienteService} y {@link AdministradorService} y usa un único {@link BCryptPasswordEncoder}
+ * reutilizable cuyo factor de costo se configura con {@code ventas.seguridad.bcrypt-fuerza}.
+ *
+ * <p>Cada operación BCrypt se ejecuta en un pool dedicado de {@code ventas.seguridad.hilos-hash} hilos con una cola de
+ * {@code ventas.seguridad.cola-hash} tareas, para que una ráfaga de inicios de sesión no ocupe todos los hilos de peticiones. Cuando la cola
+ * está llena la tarea se rechaza de inmediato con una {@link RejectedExecutionException}, que se responde con HTTP 429.</p>
+ *
+ * <p>Métricas:</p>
+ * <ul>
+ *   <li>{@code executor.*} con la etiqueta {@code name=hash-contrasenas}: Profundidad de la cola, hilos activos y tiempo de espera del pool.</li>
+ *   <li>{@code ventas.autenticacion.hash}: Latencia de cada hash o verificación BCrypt.</li>
+ *   <li>{@code ventas.autenticacion.rechazos}: Tareas rechazadas porque el pool estaba saturado.</li>
+ * </ul>
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #codificar(String)}: Hashea una contraseña con el factor de costo configurado.</li>
+ *   <li>{@link #verificar(Usuario, String)}: Verifica una contraseña contra el hash de un usuario.</li>
+ *   <li>{@link #autenticar(List, String)}: Autentica al usuario encontrado con una sola búsqueda sin bloquear el hilo de la petición.
+ *       Cuando la contraseña es correcta y el hash se calculó con otro factor de costo, el usuario devuelto lleva el nuevo hash.</li>
+ *   <li>{@link #requiereRehash(Usuario)}: Indica si el hash de un usuario se calculó con otro factor de costo, o no es un hash BCrypt, para que quien llama
+ *       guarde el usuario devuelto por {@link #autenticar(List, String)}. El pool nunca accede a la base de datos.</li>
+ * </ul>
+ *
+ * <p>Dependencias:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
+ *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ * </ul>
+ *
+ * @see Usuario
+ * @see com.software.ventas.config.SeguridadConfig
+ */
+
+
+@Service
+public class AutenticacionService {
+
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[abxy]?\\$(\\d{2})\\$[./A-Za-z0-9]{53}");
+
+    @Autowired
+    private BCryptPasswordEncoder codificador;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ventas.seguridad.bcrypt-fuerza:10}")
+    private int fuerza;
+
+    @Value("${ventas.seguridad.hilos-hash:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int hilos;
+
+    @Value("${ventas.seguridad.cola-hash:64}")
+    private int capacidadCola;
+
+    private ThreadPoolExecutor pool;
+
+    private ExecutorService ejecutor;
+
+    private Timer tiempoHash;
+
+    private Counter rechazos;
+
+    @PostConstruct
+    public void iniciar() {
+        pool = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacidadCola),
+                new CustomizableThreadFactory("hash-contrasenas-"), new ThreadPoolExecutor.AbortPolicy());
+        ejecutor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "hash-contrasenas");
+        tiempoHash = Timer.builder("ventas.autenticacion.hash").publishPercentileHistogram().register(meterRegistry);
+        rechazos = Counter.builder("ventas.autenticacion.rechazos").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void detener() {
+        pool.shutdown();
+    }
+
+    public String codificar(String contrasena) {
+        return enPool(() -> hashear(contrasena)).join();
+    }
+
+    public boolean verificar(Usuario usuario, String contrasena) {
+        return enPool(() -> coincide(usuario, contrasena)).join();
+    }
+
+    public boolean requiereRehash(Usuario usuario) {
+        return usuario.getHashcontraseña() != null && costo(usuario.getHashcontraseña()) != fuerza;
+    }
+
+    public <T extends Usuario> CompletableFuture<Optional<T>> autenticar(List<T> usuarios, String contrasena) {
+        if (usuarios.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        T usuario = usuarios.get(0);
+        return enPool(() -> {
+            if (!coincide(usuario, contrasena)) {
+                return Optional.empty();
+            }
+            // La contraseña en claro solo está disponible aquí, así que se aprovecha para migrar el hash al nuevo costo;
+            // quien llama guarda el usuario fuera de este pool
+            if (requiereRehash(usuario)) {
+                usuario.asignarHash(hashear(contrasena));
+            }
+            return Optional.of(usuario);
+        });
+    }
+
+    private <R> CompletableFuture<R> enPool(Supplier<R> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, ejecutor);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw e;
+        }
+    }
+
+    private String hashear(String contrasena) {
+        return tiempoHash.record(() -> codificador.encode(contrasena));
+    }
+
+    private boolean coincide(Usuario usuario, String contrasena) {
+        return usuario.getHashcontraseña() != null
+                && tiempoHash.record(() -> codificador.matches(contrasena, usuario.getHashcontraseña()));
+    }
+
+    // Los hashes BCrypt tienen la forma $2a$10$..., donde 10 es el factor de costo; cualquier otro valor guardado
+    // devuelve -1, que siempre difiere de la fuerza configurada, en lugar de fallar el inicio de sesión con un error
+    private static int costo(String hash) {
+        Matcher bcrypt = BCRYPT.matcher(hash);
+        return bcrypt.matches() ? Integer.parseInt(bcrypt.group(1)) : -1;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.software.ventas.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.repository.ProductoRepository;
+
+/**
+ * In-memory inverted index for the full-text search of products over their {@code nombre}, {@code marca} and {@code descripcion}.
+ * The text is folded to lower case without accents, split into words, stripped of Spanish stop words and reduced to the singular,
+ * so "Zapatillas Fútbol" and "zapatilla futbol" produce the same terms.
+ * Each term keeps the products that contain it with a weight per field (nombre 3, marca 2, descripcion 1), and the results are ranked
+ * by the sum of the weights of the matched terms multiplied by their inverse document frequency, so rare words weigh more than common ones.
+ * The index is loaded when the application starts and kept consistent by {@link ProductoService}.
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Loads every product from the database once the application is ready.</li>
+ *   <li>{@link #reconstruir(List)}: Replaces the content of the index with the given products.</li>
+ *   <li>{@link #indexar(Producto)}: Adds or updates a product in the index.</li>
+ *   <li>{@link #eliminar(Long)}: Removes a product from the index.</li>
+ *   <li>{@link #buscar(String, int)}: Returns the ids of the best ranked products for a query, from most to least relevant.</li>
+ *   <li>{@link #terminos(String)}: Normalizes a text into the terms used by the index.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see CatalogoIndice
+ */
+
+/**
+ * Índice invertido en memoria para la búsqueda de texto completo de productos sobre su {@code nombre}, {@code marca} y {@code descripcion}.
+ * El texto se lleva a minúsculas sin tildes, se divide en palabras, se descartan las palabras vacías del español y se reduce al singular,
+ * de modo que "Zapatillas Fútbol" y "zapatilla futbol" producen los mismos términos.
+ * Cada término guarda los productos que lo contienen con un peso por campo (nombre 3, marca 2, descripcion 1), y los resultados se ordenan
+ * por la suma de los pesos de los términos encontrados multiplicados por su frecuencia inversa de documento, así las palabras raras pesan más que las comunes.
+ * El índice se carga al iniciar la aplicación y {@link ProductoService} lo mantiene consistente.
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Carga todos los productos de la base de datos cuando la aplicación está lista.</li>
+ *   <li>{@link #reconstruir(List)}: Reemplaza el contenido del índice con los productos dados.</li>
+ *   <li>{@link #indexar(Producto)}: Agrega o actualiza un producto en el índice.</li>
+ *   <li>{@link #eliminar(Long)}: Elimina un producto del índice.</li>
+ *   <li>{@link #buscar(String, int)}: Devuelve los ids de los productos mejor clasificados para una consulta, del más al menos relevante.</li>
+ *   <li>{@link #terminos(String)}: Normaliza un texto en los términos que usa el índice.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see CatalogoIndice
+ */
+
+@Component
+public class BusquedaIndice {
+
+    private static final float PESO_NOMBRE = 3f;
+
+    private static final float PESO_MARCA = 2f;
+
+    private static final float PESO_DESCRIPCION = 1f;
+
+    private static final Pattern TILDES = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> VACIAS = Set.of("a", "al", "con", "de", "del", "el", "en", "la", "las", "lo", "los",
+            "para", "por", "sin", "su", "un", "una", "uno", "y", "o");
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Map<Long, Float>> publicaciones = new HashMap<>();
+
+    private final Map<Long, Set<String>> terminosPorProducto = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        reconstruir(productoRepository.findAll());
+    }
+
+    public void reconstruir(List<Producto> productos) {
+        lock.writeLock().lock();
+        try {
+            publicaciones.clear();
+            terminosPorProducto.clear();
+            for (Producto producto : productos) {
+                agregar(producto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Producto producto) {
+        lock.writeLock().lock();
+        try {
+            quitar(producto.getId());
+            agregar(producto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> buscar(String consulta, int limite) {
+        Set<String> terminos = new LinkedHashSet<>(terminos(consulta));
+        if (terminos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Float> puntajes = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int total = terminosPorProducto.size();
+            for (String termino : terminos) {
+                Map<Long, Float> productos = publicaciones.get(termino);
+                if (productos == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1.0 + (double) total / productos.size());
+                productos.forEach((id, peso) -> puntajes.merge(id, peso * idf, Float::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Map.Entry<Long, Float>> ordenados = new ArrayList<>(puntajes.entrySet());
+        // A igual puntaje se ordena por id para que la respuesta sea estable
+        ordenados.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limite, ordenados.size()));
+        for (int i = 0; i < ordenados.size() && i < limite; i++) {
+            ids.add(ordenados.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public static List<String> terminos(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return terminos;
+        }
+        String plano = TILDES.matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+        for (String palabra : SEPARADORES.split(plano)) {
+            if (!palabra.isEmpty() && !VACIAS.contains(palabra)) {
+                terminos.add(singular(palabra));
+            }
+        }
+        return terminos;
+    }
+
+    // Reducción mínima del plural del español: "pantalones" -> "pantalon", "zapatillas" -> "zapatilla"
+    private static String singular(String palabra) {
+        int largo = palabra.length();
+        if (largo > 4 && palabra.endsWith("es") && "aeiou".indexOf(palabra.charAt(largo - 3)) < 0) {
+            return palabra.substring(0, largo - 2);
+        }
+        if (largo > 3 && palabra.endsWith("s")) {
+            return palabra.substring(0, largo - 1);
+        }
+        return palabra;
+    }
+
+    private void agregar(Producto producto) {
+        Map<String, Float> pesos = new HashMap<>();
+        sumarPesos(pesos, producto.getNombre(), PESO_NOMBRE);
+        sumarPesos(pesos, producto.getMarca(), PESO_MARCA);
+        sumarPesos(pesos, producto.getDescripcion(), PESO_DESCRIPCION);
+        pesos.forEach((termino, peso) -> publicaciones.computeIfAbsent(termino, t -> new HashMap<>()).put(producto.getId(), peso));
+        terminosPorProducto.put(producto.getId(), pesos.keySet());
+    }
+
+    private void quitar(Long id) {
+        Set<String> terminos = terminosPorProducto.remove(id);
+        if (terminos == null) {
+            return;
+        }
+        for (String termino : terminos) {
+            Map<Long, Float> productos = publicaciones.get(termino);
+            productos.remove(id);
+            if (productos.isEmpty()) {
+                publicaciones.remove(termino);
+            }
+        }
+    }
+
+    private static void sumarPesos(Map<String, Float> pesos, String texto, float peso) {
+        for (String termino : terminos(texto)) {
+            pesos.merge(termino, peso, Float::sum);
+        }
+    }
+
+}
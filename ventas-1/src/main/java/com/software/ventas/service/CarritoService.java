@@ -3,16 +3,24 @@ package com.software.ventas.service;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.software.ventas.entity.Carrito;
 import com.software.ventas.entity.Cliente;
 import com.software.ventas.entity.Item;
 import com.software.ventas.entity.Orden;
+import com.software.ventas.exception.ConflictoException;
+import com.software.ventas.exception.NoEncontradoException;
 import com.software.ventas.repository.CarritoRepository;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Service class for managing {@link Carrito} entities.
  * This class provides methods for CRUD operations and managing shopping carts.
@@ -24,7 +32,10 @@ import com.software.ventas.repository.CarritoRepository;
  *   <li>{@link #findByClienteId(Long)}: Retrieves a list of shopping carts associated with a specific client ID.</li>
  *   <li>{@link #create(Long)}: Creates a new shopping cart for a specific client.</li>
  *   <li>{@link #update(Long, Long)}: Updates an existing shopping cart with a new client ID.</li>
- *   <li>{@link #comprar(Long)}: Completes the purchase of the items in the cart and updates the status.</li>
+ *   <li>{@link #clienteDe(Long)}: Returns the id of the client that owns a cart, without loading the cart.</li>
+ *   <li>{@link #referencia(Long)}: Returns a reference to a cart without loading it, to associate items with it.</li>
+ *   <li>{@link #sumarTotal(Long, Double)}: Adds the subtotal difference of an item to the cart total with a single update, without loading the cart.</li>
+ *   <li>{@link #comprar(Long)}: Completes the purchase of the items in the cart in one transaction: loads the cart, items and products in one query, creates the order, discounts stock with a batch of conditional updates so concurrent checkouts cannot oversell and adds the order to the daily sales rollup. The product and rollup rows, the most contended ones, are locked last.</li>
  *   <li>{@link #delete(Long)}: Deletes a shopping cart by its ID.</li>
  * </ul>
  * 
@@ -32,12 +43,16 @@ import com.software.ventas.repository.CarritoRepository;
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
  * </ul>
  * 
  * @see Carrito
  * @see CarritoRepository
  * @see ClienteService
  * @see OrdenService
+ * @see ProductoService
+ * @see ReporteService
  * 
  * Clase de servicio para gestionar entidades {@link Carrito}.
  * Esta clase proporciona métodos para operaciones CRUD y gestión de carritos de compra.
@@ -49,7 +64,10 @@ import com.software.ventas.repository.CarritoRepository;
  *   <li>{@link #findByClienteId(Long)}: Recupera una lista de carritos de compra asociados con un ID de cliente específico.</li>
  *   <li>{@link #create(Long)}: Crea un nuevo carrito de compra para un cliente específico.</li>
  *   <li>{@link #update(Long, Long)}: Actualiza un carrito de compra existente con un nuevo ID de cliente.</li>
- *   <li>{@link #comprar(Long)}: Completa la compra de los artículos en el carrito y actualiza el estado.</li>
+ *   <li>{@link #clienteDe(Long)}: Devuelve el id del cliente dueño de un carrito, sin cargar el carrito.</li>
+ *   <li>{@link #referencia(Long)}: Devuelve una referencia a un carrito sin cargarlo, para asociarle ítems.</li>
+ *   <li>{@link #sumarTotal(Long, Double)}: Suma la diferencia de subtotal de un ítem al total del carrito con una sola actualización, sin cargar el carrito.</li>
+ *   <li>{@link #comprar(Long)}: Completa la compra de los artículos en el carrito en una sola transacción: carga el carrito, los ítems y los productos en una consulta, crea la orden, descuenta existencias con un lote de actualizaciones condicionales para que compras concurrentes no sobrevendan y suma la orden al resumen diario de ventas. Las filas de producto y del resumen, las más disputadas, se bloquean al final.</li>
  *   <li>{@link #delete(Long)}: Elimina un carrito de compra por su ID.</li>
  * </ul>
  * 
@@ -57,16 +75,22 @@ import com.software.ventas.repository.CarritoRepository;
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
  * </ul>
  * 
  * @see Carrito
  * @see CarritoRepository
  * @see ClienteService
  * @see OrdenService
+ * @see ProductoService
+ * @see ReporteService
  */
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class CarritoService {
     
     @Autowired
@@ -78,6 +102,12 @@ public class CarritoService {
     @Autowired
     private OrdenService ordenService;
 
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ReporteService reporteService;
+
     public List<Carrito> findAll() {
         return carritoRepository.findAll();
     }
@@ -92,7 +122,7 @@ public class CarritoService {
 
     public Carrito create(Long cliente_id) {
         Cliente cliente = clienteService.findById(cliente_id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
+                .orElseThrow(() -> new NoEncontradoException("Cliente no encontrado"));
         Carrito carrito = new Carrito(cliente);
         carrito.setItems(new ArrayList<>()); // Inicializa la lista de items
         carrito.setTotal(); // Calcula el total
@@ -105,31 +135,56 @@ public class CarritoService {
         Optional<Carrito> carritoOptional = carritoRepository.findById(id);
         Carrito carritoActualizado = carritoOptional.get();
         Cliente cliente = clienteService.findById(cliente_id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
+                .orElseThrow(() -> new NoEncontradoException("Cliente no encontrado"));
         carritoActualizado.setCliente(cliente);
         return carritoRepository.save(carritoActualizado);
     }
 
-public void comprar(Long id) {
-    Carrito carrito = carritoRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Carrito no encontrado"));
-
-    if (carrito.getComprado()) {
-        throw new IllegalArgumentException("El carrito ya ha sido comprado");
+    public Long clienteDe(Long id) {
+        return carritoRepository.findClienteId(id).orElseThrow(() -> new NoEncontradoException("Carrito no encontrado"));
     }
 
-    carrito.setComprado(true);
-    
-    
-    Orden orden = ordenService.create(id);
-    carrito.setOrden(orden);
+    public Carrito referencia(Long id) {
+        return carritoRepository.getReferenceById(id);
+    }
 
-    for (Item item : carrito.getItems()) {
-        item.restarUnidades();
+    @Transactional
+    public void sumarTotal(Long id, Double delta) {
+        if (carritoRepository.sumarTotal(id, delta) == 0) {
+            throw new NoEncontradoException("Carrito no encontrado");
+        }
     }
 
-    carritoRepository.save(carrito);
-}
+    @Transactional
+    public void comprar(Long id) {
+        // Carrito, cliente, ítems y productos se cargan con una sola consulta
+        Carrito carrito = carritoRepository.findParaCompra(id)
+                .orElseThrow(() -> new NoEncontradoException("Carrito no encontrado"));
+
+        // El UPDATE condicional impide que dos compras simultáneas del mismo carrito descuenten dos veces
+        if (carrito.getComprado() || carritoRepository.marcarComprado(id) == 0) {
+            throw new ConflictoException("El carrito ya ha sido comprado");
+        }
+
+        // La orden y el carrito se escriben primero: las filas de producto y del resumen, las más disputadas,
+        // se bloquean al final para retenerlas solo hasta el commit
+        carrito.setComprado(true);
+        Orden orden = ordenService.create(carrito);
+        carrito.setOrden(orden);
+        carritoRepository.saveAndFlush(carrito);
+
+        // Ordenado por id para que todas las compras bloqueen las filas de producto en el mismo orden
+        Map<Long, Integer> unidadesPorProducto = new TreeMap<>();
+        for (Item item : carrito.getItems()) {
+            unidadesPorProducto.merge(item.getProducto().getId(), item.getUnidades(), Integer::sum);
+        }
+        if (!unidadesPorProducto.isEmpty()) {
+            productoService.restarUnidades(unidadesPorProducto);
+        }
+
+        // Después de los productos, en el orden de la llave del resumen, dentro de la misma transacción
+        reporteService.acumular(orden, carrito.getItems());
+    }
 
 
     public void delete(Long id) {
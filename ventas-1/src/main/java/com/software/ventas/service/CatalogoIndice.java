@@ -0,0 +1,254 @@
+package com.software.ventas.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.software.ventas.dto.Facetas;
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+import com.software.ventas.repository.ProductoRepository;
+
+/**
+ * In-memory index of the product catalog keyed on the {@link Categoria}, {@link Genero} and {@link Talla} enums.
+ * Each product gets a slot and every enum value keeps a {@link BitSet} with the slots of its products,
+ * so filter intersections and facet counts are resolved with bit operations instead of database queries.
+ * The index is loaded when the application starts and kept consistent by {@link ProductoService}.
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Loads every product from the database once the application is ready.</li>
+ *   <li>{@link #reconstruir(List)}: Replaces the content of the index with the given products.</li>
+ *   <li>{@link #indexar(Producto)}: Adds or updates a product in the index.</li>
+ *   <li>{@link #eliminar(Long)}: Removes a product from the index.</li>
+ *   <li>{@link #isCargado()}: Indicates whether the index has been loaded.</li>
+ *   <li>{@link #filtrar(Categoria, Genero, Talla)}: Returns the ids of the products matching the filters, ordered by id. Null filters match any value.</li>
+ *   <li>{@link #contarFacetas(Categoria, Genero, Talla)}: Returns the facet counts for the filters.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see Facetas
+ */
+
+/**
+ * Índice en memoria del catálogo de productos por las enumeraciones {@link Categoria}, {@link Genero} y {@link Talla}.
+ * Cada producto ocupa una posición y cada valor de la enumeración guarda un {@link BitSet} con las posiciones de sus productos,
+ * de modo que las intersecciones de filtros y los conteos por faceta se resuelven con operaciones de bits en lugar de consultas.
+ * El índice se carga al iniciar la aplicación y {@link ProductoService} lo mantiene consistente.
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Carga todos los productos de la base de datos cuando la aplicación está lista.</li>
+ *   <li>{@link #reconstruir(List)}: Reemplaza el contenido del índice con los productos dados.</li>
+ *   <li>{@link #indexar(Producto)}: Agrega o actualiza un producto en el índice.</li>
+ *   <li>{@link #eliminar(Long)}: Elimina un producto del índice.</li>
+ *   <li>{@link #isCargado()}: Indica si el índice ya fue cargado.</li>
+ *   <li>{@link #filtrar(Categoria, Genero, Talla)}: Devuelve los ids de los productos que cumplen los filtros, ordenados por id. Los filtros nulos aceptan cualquier valor.</li>
+ *   <li>{@link #contarFacetas(Categoria, Genero, Talla)}: Devuelve los conteos por faceta para los filtros.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see Facetas
+ */
+
+@Component
+public class CatalogoIndice {
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> posiciones = new HashMap<>();
+
+    private final List<Long> ids = new ArrayList<>();
+
+    private final Deque<Integer> libres = new ArrayDeque<>();
+
+    private final BitSet activos = new BitSet();
+
+    private final BitSet[] porCategoria = nuevosBitSets(Categoria.values().length);
+
+    private final BitSet[] porGenero = nuevosBitSets(Genero.values().length);
+
+    private final BitSet[] porTalla = nuevosBitSets(Talla.values().length);
+
+    private volatile boolean cargado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        reconstruir(productoRepository.findAll());
+    }
+
+    public void reconstruir(List<Producto> productos) {
+        lock.writeLock().lock();
+        try {
+            posiciones.clear();
+            ids.clear();
+            libres.clear();
+            activos.clear();
+            limpiar(porCategoria);
+            limpiar(porGenero);
+            limpiar(porTalla);
+            for (Producto producto : productos) {
+                agregar(producto);
+            }
+            cargado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Producto producto) {
+        lock.writeLock().lock();
+        try {
+            quitar(producto.getId());
+            agregar(producto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    public List<Long> filtrar(Categoria categoria, Genero genero, Talla talla) {
+        lock.readLock().lock();
+        try {
+            BitSet resultado = interseccion(categoria, genero, talla);
+            List<Long> encontrados = new ArrayList<>(resultado.cardinality());
+            for (int i = resultado.nextSetBit(0); i >= 0; i = resultado.nextSetBit(i + 1)) {
+                encontrados.add(ids.get(i));
+            }
+            // Las posiciones se reutilizan, por lo que el orden por id se garantiza al final
+            encontrados.sort(null);
+            return encontrados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Facetas contarFacetas(Categoria categoria, Genero genero, Talla talla) {
+        lock.readLock().lock();
+        try {
+            Map<Categoria, Integer> categorias = new EnumMap<>(Categoria.class);
+            BitSet sinCategoria = interseccion(null, genero, talla);
+            for (Categoria valor : Categoria.values()) {
+                categorias.put(valor, contarComunes(sinCategoria, porCategoria[valor.ordinal()]));
+            }
+            Map<Genero, Integer> generos = new EnumMap<>(Genero.class);
+            BitSet sinGenero = interseccion(categoria, null, talla);
+            for (Genero valor : Genero.values()) {
+                generos.put(valor, contarComunes(sinGenero, porGenero[valor.ordinal()]));
+            }
+            Map<Talla, Integer> tallas = new EnumMap<>(Talla.class);
+            BitSet sinTalla = interseccion(categoria, genero, null);
+            for (Talla valor : Talla.values()) {
+                tallas.put(valor, contarComunes(sinTalla, porTalla[valor.ordinal()]));
+            }
+            int total = interseccion(categoria, genero, talla).cardinality();
+            return new Facetas(total, categorias, generos, tallas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet interseccion(Categoria categoria, Genero genero, Talla talla) {
+        BitSet resultado = (BitSet) activos.clone();
+        if (categoria != null) {
+            resultado.and(porCategoria[categoria.ordinal()]);
+        }
+        if (genero != null) {
+            resultado.and(porGenero[genero.ordinal()]);
+        }
+        if (talla != null) {
+            resultado.and(porTalla[talla.ordinal()]);
+        }
+        return resultado;
+    }
+
+    private int contarComunes(BitSet base, BitSet valor) {
+        BitSet comunes = (BitSet) base.clone();
+        comunes.and(valor);
+        return comunes.cardinality();
+    }
+
+    private void agregar(Producto producto) {
+        int posicion;
+        if (libres.isEmpty()) {
+            posicion = ids.size();
+            ids.add(producto.getId());
+        } else {
+            posicion = libres.pop();
+            ids.set(posicion, producto.getId());
+        }
+        posiciones.put(producto.getId(), posicion);
+        activos.set(posicion);
+        if (producto.getCategoria() != null) {
+            porCategoria[producto.getCategoria().ordinal()].set(posicion);
+        }
+        if (producto.getGenero() != null) {
+            porGenero[producto.getGenero().ordinal()].set(posicion);
+        }
+        if (producto.getTalla() != null) {
+            porTalla[producto.getTalla().ordinal()].set(posicion);
+        }
+    }
+
+    private void quitar(Long id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion == null) {
+            return;
+        }
+        activos.clear(posicion);
+        limpiar(porCategoria, posicion);
+        limpiar(porGenero, posicion);
+        limpiar(porTalla, posicion);
+        ids.set(posicion, null);
+        libres.push(posicion);
+    }
+
+    private static BitSet[] nuevosBitSets(int cantidad) {
+        BitSet[] bitSets = new BitSet[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    private static void limpiar(BitSet[] bitSets) {
+        for (BitSet bitSet : bitSets) {
+            bitSet.clear();
+        }
+    }
+
+    private static void limpiar(BitSet[] bitSets, int posicion) {
+        for (BitSet bitSet : bitSets) {
+            bitSet.clear(posicion);
+        }
+    }
+
+}
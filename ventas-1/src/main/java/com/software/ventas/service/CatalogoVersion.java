@@ -0,0 +1,52 @@
+package com.software.ventas.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version counter of the product catalog.
+ * {@link ProductoService} increments it on every write, including the stock discounted by a purchase, and the
+ * serialized-response cache of the catalog endpoints discards every entry stored with an older version.
+ *
+ * <p>Inside a transaction the version is incremented immediately and again after the commit, so a response read
+ * while the transaction was still open cannot stay cached with the committed version.</p>
+ *
+ * @see com.software.ventas.config.CatalogoCacheFilter
+ */
+
+/**
+ * Contador de versión del catálogo de productos.
+ * {@link ProductoService} lo incrementa en cada escritura, incluidas las existencias descontadas por una compra, y la
+ * caché de respuestas serializadas de los endpoints del catálogo descarta toda entrada guardada con una versión anterior.
+ *
+ * <p>Dentro de una transacción la versión se incrementa de inmediato y otra vez después del commit, para que una respuesta
+ * leída mientras la transacción seguía abierta no quede en caché con la versión confirmada.</p>
+ *
+ * @see com.software.ventas.config.CatalogoCacheFilter
+ */
+
+@Component
+public class CatalogoVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long actual() {
+        return version.get();
+    }
+
+    public void incrementar() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+}
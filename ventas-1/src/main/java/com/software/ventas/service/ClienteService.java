@@ -2,12 +2,21 @@ package com.software.ventas.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import com.software.ventas.dto.ClienteResumen;
 import com.software.ventas.entity.Cliente;
 import com.software.ventas.entity.enums.TipoDocumento;
+import com.software.ventas.exception.NoEncontradoException;
 import com.software.ventas.repository.ClienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 
 /**
  * Service class for managing {@link Cliente} entities.
@@ -15,10 +24,11 @@ import org.springframework.stereotype.Service;
  * 
  * <p>Methods:</p>
  * <ul>
- *   <li>{@link #findAll()}: Retrieves all clients.</li>
+ *   <li>{@link #findAll()}: Retrieves all clients as read-only projections, without the password hash.</li>
  *   <li>{@link #findById(Long)}: Retrieves a client by its ID.</li>
  *   <li>{@link #findByNombre(String)}: Retrieves a list of clients associated with a specific name.</li>
  *   <li>{@link #ingresarUsuario(String, String)}: Validates user credentials for login.</li>
+ *   <li>{@link #getClienteLogin(String, String)}: Returns the client whose credentials are valid, with a single lookup and a single password check on the hashing pool.</li>
  *   <li>{@link #create(Cliente, String, String)}: Creates a new client with the specified document type and password.</li>
  *   <li>{@link #updateById(Long, Cliente, String)}: Updates an existing client by ID and document type.</li>
  *   <li>{@link #updateContraseña(Long, String, String)}: Updates the password of a client.</li>
@@ -29,21 +39,25 @@ import org.springframework.stereotype.Service;
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
  * </ul>
  * 
  * @see Cliente
  * @see ClienteRepository
  * @see TipoDocumento
+ * @see AutenticacionService
  * 
  * Clase de servicio para gestionar entidades {@link Cliente}.
  * Esta clase proporciona métodos para operaciones CRUD y gestión de clientes.
  * 
  * <p>Métodos:</p>
  * <ul>
- *   <li>{@link #findAll()}: Recupera todos los clientes.</li>
+ *   <li>{@link #findAll()}: Recupera todos los clientes como proyecciones de solo lectura, sin el hash de la contraseña.</li>
  *   <li>{@link #findById(Long)}: Recupera un cliente por su ID.</li>
  *   <li>{@link #findByNombre(String)}: Recupera una lista de clientes asociados con un nombre específico.</li>
  *   <li>{@link #ingresarUsuario(String, String)}: Valida las credenciales del usuario para iniciar sesión.</li>
+ *   <li>{@link #getClienteLogin(String, String)}: Devuelve el cliente cuyas credenciales son válidas, con una sola búsqueda y una sola verificación de la contraseña en el pool de hashing.</li>
  *   <li>{@link #create(Cliente, String, String)}: Crea un nuevo cliente con el tipo de documento y contraseña especificados.</li>
  *   <li>{@link #updateById(Long, Cliente, String)}: Actualiza un cliente existente por ID y tipo de documento.</li>
  *   <li>{@link #updateContraseña(Long, String, String)}: Actualiza la contraseña de un cliente.</li>
@@ -54,22 +68,35 @@ import org.springframework.stereotype.Service;
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
  * </ul>
  * 
  * @see Cliente
  * @see ClienteRepository
  * @see TipoDocumento
+ * @see AutenticacionService
  */
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class ClienteService {
 
     @Autowired
     private ClienteRepository clienteRepository;
 
-    public List<Cliente> findAll() {
-        return clienteRepository.findAll();
+    @Autowired
+    private AutenticacionService autenticacionService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor tareas;
+
+    @Transactional(readOnly = true)
+    public List<ClienteResumen> findAll() {
+        return clienteRepository.findAllResumen();
     }
 
     public Optional<Cliente> findById(Long id) {
@@ -80,30 +107,23 @@ public class ClienteService {
         return clienteRepository.findByName(nombre);
     }
     
-    public boolean ingresarUsuario(String nombre, String contrasena) {
-        List<Cliente> clientes = clienteRepository.findByName(nombre);
-
-        
-    if (clientes.isEmpty()) {
-        return false;
+    public CompletableFuture<Boolean> ingresarUsuario(String nombre, String contrasena) {
+        return autenticar(nombre, contrasena).thenApply(Optional::isPresent);
     }
 
-    Cliente cliente = clientes.get(0);
-
-        if (cliente != null && cliente.verificarContraseña(contrasena)) {
-            return true;
-        }
-        return false;
+    public CompletableFuture<Cliente> getClienteLogin(String nombre, String contrasena) {
+        return autenticar(nombre, contrasena).thenApply(cliente -> cliente
+        .orElseThrow(() -> new IllegalArgumentException("Usuario o contraseña incorrectos")));
     }
 
-    public Cliente getClienteLogin(String nombre, String contrasena) {
-        if (ingresarUsuario(nombre, contrasena)) {
-            List<Cliente> clientes = clienteRepository.findByName(nombre);
-            return clientes.get(0);
-        }
-        else{
-            throw new IllegalArgumentException("Usuario o contraseña incorrectos"); //
+    private CompletableFuture<Optional<Cliente>> autenticar(String nombre, String contrasena) {
+        List<Cliente> clientes = clienteRepository.findByName(nombre);
+        CompletableFuture<Optional<Cliente>> cliente = autenticacionService.autenticar(clientes, contrasena);
+        if (clientes.isEmpty() || !autenticacionService.requiereRehash(clientes.get(0))) {
+            return cliente;
         }
+        // El hash migrado se guarda en su propia transacción fuera del pool de hashing, que no debe esperar conexiones
+        return cliente.thenApplyAsync(autenticado -> autenticado.map(clienteRepository::save), tareas);
     }
 
     public Cliente create(Cliente cliente, String tipodocumento_String, String contrasena) {
@@ -114,13 +134,13 @@ public class ClienteService {
             throw new IllegalArgumentException("Tipo de documento inválido: " + tipodocumento_String);
         }
         cliente.setTipo_documento(tipo_documento);
-        cliente.setHashcontraseña(contrasena);
+        cliente.asignarHash(autenticacionService.codificar(contrasena));
         return clienteRepository.save(cliente);
     }
 
     public Cliente updateById(Long id, Cliente cliente, String tipodocumento_String) {
         Cliente clienteToUpdate = clienteRepository.findById(id)
-        .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
+        .orElseThrow(() -> new NoEncontradoException("Cliente no encontrado"));
 
         clienteToUpdate.setNombre_usuario(cliente.getNombre_usuario());
         clienteToUpdate.setNombres(cliente.getNombres());
@@ -141,10 +161,10 @@ public class ClienteService {
 
     public Cliente updateContraseña(Long id, String password, String newPassword) { 
         Cliente clienteToUpdate = clienteRepository.findById(id)
-        .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
+        .orElseThrow(() -> new NoEncontradoException("Cliente no encontrado"));
 
-        if (clienteToUpdate.verificarContraseña(password)) {
-            clienteToUpdate.setHashcontraseña(newPassword);
+        if (autenticacionService.verificar(clienteToUpdate, password)) {
+            clienteToUpdate.asignarHash(autenticacionService.codificar(newPassword));
             return clienteRepository.save(clienteToUpdate);
         }
         else{
@@ -0,0 +1,392 @@
+package com.software.ventas.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.software.ventas.dto.ErrorImportacion;
+import com.software.ventas.dto.ResultadoImportacion;
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+import com.software.ventas.repository.ProductoRepository;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service class that imports products in bulk from a CSV or NDJSON upload.
+ * The upload is read line by line while it arrives and the valid rows are inserted in transactions of
+ * {@code ventas.importacion.lote} products, which Hibernate sends as JDBC batches thanks to the ids reserved in blocks by {@link com.software.ventas.entity.Secuencias}, so the memory used is bounded by the batch size and the reading of the upload
+ * waits while each batch is written, whatever the size of the file.
+ *
+ * <p>Every row is validated before it is inserted: the name is required, the price and units must be non-negative numbers,
+ * and the category, gender and size are looked up in tables built from their enums, without parsing by exception.
+ * An invalid row is reported with its line number and the import continues. Each batch runs in its own transaction;
+ * if the database rejects a batch, its rows are inserted one by one so only the failing rows are reported.</p>
+ *
+ * <p>CSV uploads must start with a header with the columns {@code nombre}, {@code precio}, {@code unidades}, {@code genero},
+ * {@code categoria} and {@code talla}, and optionally {@code imagen}, {@code descripcion} and {@code marca}, in any order.
+ * NDJSON uploads have one JSON object per line with the same fields. When the import ends, the in-memory indexes of the catalog
+ * are rebuilt and the catalog caches are invalidated.</p>
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #importar(String, InputStream)}: Imports the products of an upload in the given format ({@code csv} or {@code ndjson}).</li>
+ * </ul>
+ *
+ * <p>Dependencies:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
+ *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
+ * </ul>
+ *
+ * @see ProductoService#recargarCatalogo()
+ * @see ResultadoImportacion
+ *
+ * Clase de servicio que importa productos de forma masiva desde un archivo CSV o NDJSON.
+ * El archivo se lee línea por línea a medida que llega y las filas válidas se insertan en transacciones de
+ * {@code ventas.importacion.lote} productos, que Hibernate envía en lotes JDBC gracias a los ids reservados por bloques en {@link com.software.ventas.entity.Secuencias}, así la memoria usada está acotada por el tamaño del lote y la lectura del archivo
+ * espera mientras se escribe cada lote, sin importar el tamaño del archivo.
+ *
+ * <p>Cada fila se valida antes de insertarse: el nombre es obligatorio, el precio y las unidades deben ser números no negativos,
+ * y la categoría, el género y la talla se buscan en tablas construidas a partir de sus enumeraciones, sin interpretar por excepción.
+ * Una fila inválida se informa con su número de línea y la importación continúa. Cada lote se ejecuta en su propia transacción;
+ * si la base de datos rechaza un lote, sus filas se insertan una por una para informar solo las filas que fallan.</p>
+ *
+ * <p>Los archivos CSV deben empezar con un encabezado con las columnas {@code nombre}, {@code precio}, {@code unidades}, {@code genero},
+ * {@code categoria} y {@code talla}, y opcionalmente {@code imagen}, {@code descripcion} y {@code marca}, en cualquier orden.
+ * Los archivos NDJSON tienen un objeto JSON por línea con los mismos campos. Al terminar la importación se reconstruyen los índices
+ * en memoria del catálogo y se invalidan las cachés del catálogo.</p>
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #importar(String, InputStream)}: Importa los productos de un archivo en el formato dado ({@code csv} o {@code ndjson}).</li>
+ * </ul>
+ *
+ * <p>Dependencias:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
+ *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
+ * </ul>
+ *
+ * @see ProductoService#recargarCatalogo()
+ * @see ResultadoImportacion
+ */
+
+
+@Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
+public class ImportacionProductosService {
+
+    public static final int MAXIMO_ERRORES = 1000;
+
+    private static final List<String> COLUMNAS_OBLIGATORIAS = List.of("nombre", "precio", "unidades", "genero", "categoria", "talla");
+
+    private static final Pattern DECIMAL = Pattern.compile("\\d{1,12}(\\.\\d+)?");
+
+    private static final Pattern ENTERO = Pattern.compile("\\d{1,9}");
+
+    private static final Map<String, Categoria> CATEGORIAS = new HashMap<>();
+
+    private static final Map<String, Genero> GENEROS = new HashMap<>();
+
+    private static final Map<String, Talla> TALLAS = new HashMap<>();
+
+    static {
+        for (Categoria categoria : Categoria.values()) {
+            CATEGORIAS.put(categoria.name(), categoria);
+        }
+        for (Genero genero : Genero.values()) {
+            GENEROS.put(genero.name(), genero);
+        }
+        // La talla se acepta como en la API ("38") o con el nombre de la enumeración ("T38")
+        for (Talla talla : Talla.values()) {
+            TALLAS.put(talla.name(), talla);
+            TALLAS.put(talla.getNumero(), talla);
+        }
+    }
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ventas.importacion.lote:500}")
+    private int tamanoLote;
+
+    private TransactionTemplate transaccion;
+
+    @PostConstruct
+    public void iniciar() {
+        transaccion = new TransactionTemplate(transactionManager);
+    }
+
+    public ResultadoImportacion importar(String formato, InputStream entrada) throws IOException {
+        boolean csv;
+        switch (formato) {
+            case "csv":
+                csv = true;
+                break;
+            case "ndjson":
+                csv = false;
+                break;
+            default:
+                throw new IllegalArgumentException("Formato de importación inválido: " + formato);
+        }
+
+        Importacion importacion = new Importacion();
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        List<String> encabezado = null;
+        int numero = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            if (csv && encabezado == null) {
+                encabezado = leerEncabezado(linea);
+                continue;
+            }
+            importacion.filas++;
+            Map<String, String> campos = new HashMap<>();
+            String error = csv ? camposCsv(linea, encabezado, campos) : camposJson(linea, campos);
+            if (error == null) {
+                error = validar(campos);
+            }
+            if (error != null) {
+                importacion.rechazar(numero, error);
+                continue;
+            }
+            importacion.lote.add(crear(campos));
+            importacion.filasLote.add(numero);
+            if (importacion.lote.size() >= tamanoLote) {
+                guardar(importacion);
+            }
+        }
+        guardar(importacion);
+
+        if (importacion.importadas > 0) {
+            productoService.recargarCatalogo();
+        }
+        return new ResultadoImportacion(importacion.filas, importacion.importadas, importacion.rechazadas, importacion.errores);
+    }
+
+    private void guardar(Importacion importacion) {
+        if (importacion.lote.isEmpty()) {
+            return;
+        }
+        try {
+            transaccion.executeWithoutResult(estado -> guardarLote(importacion.lote));
+            importacion.importadas += importacion.lote.size();
+        } catch (DataAccessException e) {
+            // El lote se revirtió completo; se reintenta fila por fila para informar solo las filas que la base de datos rechaza
+            for (int i = 0; i < importacion.lote.size(); i++) {
+                Producto producto = importacion.lote.get(i);
+                // El id asignado en el intento fallido no llegó a la base de datos
+                producto.setId(null);
+                try {
+                    transaccion.executeWithoutResult(estado -> guardarLote(List.of(producto)));
+                    importacion.importadas++;
+                } catch (DataAccessException rechazo) {
+                    importacion.rechazar(importacion.filasLote.get(i), rechazo.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        importacion.lote.clear();
+        importacion.filasLote.clear();
+    }
+
+    private void guardarLote(List<Producto> productos) {
+        // Los ids salen por bloques de la tabla de secuencias, así Hibernate envía los INSERT en lotes JDBC
+        productoRepository.saveAllAndFlush(productos);
+        // La petición mantiene abierto el EntityManager, así que se vacía en cada lote para que la memoria no crezca con el archivo
+        entityManager.clear();
+    }
+
+    private static List<String> leerEncabezado(String linea) {
+        List<String> columnas = new ArrayList<>();
+        for (String columna : dividirCsv(linea)) {
+            columnas.add(columna.trim().toLowerCase(Locale.ROOT));
+        }
+        for (String obligatoria : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.contains(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna " + obligatoria + " en el encabezado");
+            }
+        }
+        return columnas;
+    }
+
+    private static String camposCsv(String linea, List<String> encabezado, Map<String, String> campos) {
+        List<String> valores = dividirCsv(linea);
+        if (valores.size() != encabezado.size()) {
+            return "Se esperaban " + encabezado.size() + " columnas y hay " + valores.size();
+        }
+        for (int i = 0; i < valores.size(); i++) {
+            campos.put(encabezado.get(i), valores.get(i).trim());
+        }
+        return null;
+    }
+
+    private String camposJson(String linea, Map<String, String> campos) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(linea);
+        } catch (JsonProcessingException e) {
+            return "JSON inválido: " + e.getOriginalMessage();
+        }
+        if (!objeto.isObject()) {
+            return "Se esperaba un objeto JSON";
+        }
+        Iterator<Map.Entry<String, JsonNode>> propiedades = objeto.fields();
+        while (propiedades.hasNext()) {
+            Map.Entry<String, JsonNode> propiedad = propiedades.next();
+            if (!propiedad.getValue().isNull()) {
+                campos.put(propiedad.getKey().toLowerCase(Locale.ROOT), propiedad.getValue().asText().trim());
+            }
+        }
+        return null;
+    }
+
+    private static String validar(Map<String, String> campos) {
+        String nombre = campos.get("nombre");
+        if (nombre == null || nombre.isEmpty()) {
+            return "El nombre es obligatorio";
+        }
+        if (!coincide(DECIMAL, campos.get("precio"))) {
+            return "Precio inválido: " + campos.get("precio");
+        }
+        if (!coincide(ENTERO, campos.get("unidades"))) {
+            return "Unidades inválidas: " + campos.get("unidades");
+        }
+        if (!CATEGORIAS.containsKey(mayusculas(campos.get("categoria")))) {
+            return "Categoría inválida: " + campos.get("categoria");
+        }
+        if (!GENEROS.containsKey(mayusculas(campos.get("genero")))) {
+            return "Género inválido: " + campos.get("genero");
+        }
+        if (!TALLAS.containsKey(mayusculas(campos.get("talla")))) {
+            return "Talla inválida: " + campos.get("talla");
+        }
+        return null;
+    }
+
+    private static Producto crear(Map<String, String> campos) {
+        Producto producto = new Producto();
+        producto.setNombre(campos.get("nombre"));
+        producto.setPrecio(Double.valueOf(campos.get("precio")));
+        producto.setUnidades(Integer.valueOf(campos.get("unidades")));
+        producto.setCategoria(CATEGORIAS.get(mayusculas(campos.get("categoria"))));
+        producto.setGenero(GENEROS.get(mayusculas(campos.get("genero"))));
+        producto.setTalla(TALLAS.get(mayusculas(campos.get("talla"))));
+        producto.setImagen(vacioANulo(campos.get("imagen")));
+        producto.setDescripcion(vacioANulo(campos.get("descripcion")));
+        producto.setMarca(vacioANulo(campos.get("marca")));
+        return producto;
+    }
+
+    // Divide una línea CSV respetando los campos entre comillas y las comillas escapadas como ""
+    static List<String> dividirCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static boolean coincide(Pattern patron, String valor) {
+        return valor != null && patron.matcher(valor).matches();
+    }
+
+    private static String mayusculas(String valor) {
+        return valor == null ? "" : valor.toUpperCase(Locale.ROOT);
+    }
+
+    private static String vacioANulo(String valor) {
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    // Estado de una importación en curso: contadores, errores y el lote pendiente de escribir
+    private static class Importacion {
+
+        private int filas;
+
+        private int importadas;
+
+        private int rechazadas;
+
+        private final List<ErrorImportacion> errores = new ArrayList<>();
+
+        private final List<Producto> lote = new ArrayList<>();
+
+        private final List<Integer> filasLote = new ArrayList<>();
+
+        private void rechazar(int fila, String mensaje) {
+            rechazadas++;
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add(new ErrorImportacion(fila, mensaje));
+            }
+        }
+
+    }
+
+}
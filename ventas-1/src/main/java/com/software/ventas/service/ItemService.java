@@ -1,16 +1,27 @@
 package com.software.ventas.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.software.ventas.dto.ItemLote;
 import com.software.ventas.entity.Carrito;
 import com.software.ventas.entity.Item;
 import com.software.ventas.entity.Producto;
+import com.software.ventas.exception.ConflictoException;
+import com.software.ventas.exception.NoEncontradoException;
 import com.software.ventas.repository.ItemRepository;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Service class for managing {@link Item} entities.
  * This class provides methods for CRUD operations and managing items in a shopping cart.
@@ -21,15 +32,20 @@ import com.software.ventas.repository.ItemRepository;
  *   <li>{@link #findById(Long)}: Retrieves an item by its ID.</li>
  *   <li>{@link #findByCarritoId(Long)}: Retrieves a list of items associated with a specific shopping cart ID.</li>
  *   <li>{@link #findByProductoId(Long)}: Retrieves a list of items associated with a specific product ID.</li>
- *   <li>{@link #create(Integer, Long, Long)}: Creates a new item for the specified product and shopping cart.</li>
- *   <li>{@link #update(Long, Integer, Long, Long)}: Updates an existing item by ID, units, product, and cart ID.</li>
- *   <li>{@link #delete(Long)}: Deletes an item by its ID.</li>
+ *   <li>{@link #clienteDe(Long)}: Returns the id of the client that owns the cart of an item, without loading the item.</li>
+ *   <li>{@link #create(Integer, Long, Long)}: Creates a new item for the specified product and shopping cart, adding its subtotal to the cart total with a single update.</li>
+ *   <li>{@link #createLote(List, Long)}: Adds several products to a shopping cart at once: the products are read with a single query, the stock is checked in memory
+ *       against the units requested per product, the items are inserted in a JDBC batch and the cart total is updated once.</li>
+ *   <li>{@link #update(Long, Integer, Long, Long)}: Updates an existing item by ID, units, product, and cart ID, adjusting the cart total by the subtotal difference.</li>
+ *   <li>{@link #delete(Long)}: Deletes an item by its ID, subtracting its subtotal from the cart total.</li>
  * </ul>
  * 
  * <p>Dependencies:</p>
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
  * </ul>
  * 
  * @see Item
@@ -38,6 +54,7 @@ import com.software.ventas.repository.ItemRepository;
  * @see Carrito
  * @see ProductoService
  * @see CarritoService
+ * @see ItemLote
  * 
  * Clase de servicio para gestionar entidades {@link Item}.
  * Esta clase proporciona métodos para operaciones CRUD y gestión de artículos en un carrito de compras.
@@ -48,15 +65,20 @@ import com.software.ventas.repository.ItemRepository;
  *   <li>{@link #findById(Long)}: Recupera un artículo por su ID.</li>
  *   <li>{@link #findByCarritoId(Long)}: Recupera una lista de artículos asociados con un ID de carrito específico.</li>
  *   <li>{@link #findByProductoId(Long)}: Recupera una lista de artículos asociados con un ID de producto específico.</li>
- *   <li>{@link #create(Integer, Long, Long)}: Crea un nuevo artículo para el producto y carrito especificados.</li>
- *   <li>{@link #update(Long, Integer, Long, Long)}: Actualiza un artículo existente por ID, unidades, producto e ID de carrito.</li>
- *   <li>{@link #delete(Long)}: Elimina un artículo por su ID.</li>
+ *   <li>{@link #clienteDe(Long)}: Devuelve el id del cliente dueño del carrito de un artículo, sin cargar el artículo.</li>
+ *   <li>{@link #create(Integer, Long, Long)}: Crea un nuevo artículo para el producto y carrito especificados, sumando su subtotal al total del carrito con una sola actualización.</li>
+ *   <li>{@link #createLote(List, Long)}: Agrega varios productos a un carrito de una vez: los productos se leen con una sola consulta, las existencias se validan en memoria
+ *       contra las unidades pedidas por producto, los artículos se insertan en un lote JDBC y el total del carrito se actualiza una sola vez.</li>
+ *   <li>{@link #update(Long, Integer, Long, Long)}: Actualiza un artículo existente por ID, unidades, producto e ID de carrito, ajustando el total del carrito por la diferencia de subtotal.</li>
+ *   <li>{@link #delete(Long)}: Elimina un artículo por su ID, restando su subtotal del total del carrito.</li>
  * </ul>
  * 
  * <p>Dependencias:</p>
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
  * </ul>
  * 
  * @see Item
@@ -65,10 +87,13 @@ import com.software.ventas.repository.ItemRepository;
  * @see Carrito
  * @see ProductoService
  * @see CarritoService
+ * @see ItemLote
  */
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class ItemService {
 
     @Autowired
@@ -96,41 +121,95 @@ public class ItemService {
         return itemRepository.findByProductoId(productoId);
     }
 
+    public Long clienteDe(Long id) {
+        return itemRepository.findClienteId(id).orElseThrow(() -> new NoEncontradoException("Item no encontrado"));
+    }
+
+    // El total del carrito se ajusta con la diferencia del subtotal en un solo UPDATE, sin recorrer sus ítems ni recargarlo
+    @Transactional
     public Item create(Integer unidades, Long producto_id, Long carrito_id) {
         Producto producto = productoService.findById(producto_id)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado"));
-
-        Carrito carrito = carritoService.findById(carrito_id)
-                .orElseThrow(() -> new IllegalArgumentException("Carrito no encontrado"));
+                .orElseThrow(() -> new NoEncontradoException("Producto no encontrado"));
 
-        Item item = new Item(unidades, producto, carrito);
-        itemRepository.save(item);
-        carrito.getItems().add(item);
-        carrito.setTotal();
-        carritoService.update(carrito.getId(), carrito.getCliente().getId());
+        Item item = new Item(unidades, producto, carritoService.referencia(carrito_id));
+        carritoService.sumarTotal(carrito_id, subtotal(item));
         return itemRepository.save(item);
     }
 
+    // Una consulta de productos, un UPDATE del total y un lote de INSERT, sin importar cuántos ítems traiga la petición
+    @Transactional
+    public List<Item> createLote(List<ItemLote> items, Long carrito_id) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("No hay ítems para agregar");
+        }
+        Map<Long, Integer> unidadesPorProducto = new LinkedHashMap<>();
+        for (ItemLote item : items) {
+            if (item.getProductoId() == null || item.getUnidades() == null || item.getUnidades() <= 0) {
+                throw new IllegalArgumentException("Cada ítem requiere producto_id y unidades mayores que cero");
+            }
+            unidadesPorProducto.merge(item.getProductoId(), item.getUnidades(), Integer::sum);
+        }
+
+        Map<Long, Producto> productos = new HashMap<>();
+        for (Producto producto : productoService.findAllById(unidadesPorProducto.keySet())) {
+            productos.put(producto.getId(), producto);
+        }
+        // Un producto repetido en la petición se valida con la suma de sus unidades
+        for (Map.Entry<Long, Integer> entrada : unidadesPorProducto.entrySet()) {
+            Producto producto = productos.get(entrada.getKey());
+            if (producto == null) {
+                throw new NoEncontradoException("Producto no encontrado: " + entrada.getKey());
+            }
+            if (producto.getUnidades() == null || entrada.getValue() > producto.getUnidades()) {
+                throw new ConflictoException("No hay unidades disponibles del producto " + entrada.getKey());
+            }
+        }
+
+        Carrito carrito = carritoService.referencia(carrito_id);
+        List<Item> nuevos = new ArrayList<>(items.size());
+        double total = 0.0;
+        for (ItemLote item : items) {
+            Item nuevo = new Item(item.getUnidades(), productos.get(item.getProductoId()), carrito);
+            total += subtotal(nuevo);
+            nuevos.add(nuevo);
+        }
+        carritoService.sumarTotal(carrito_id, total);
+        return itemRepository.saveAll(nuevos);
+    }
+
+    @Transactional
     public Item update(Long id, Integer unidades, Long producto_id, Long carrito_id) {
-        Optional<Item> itemOptional = itemRepository.findById(id);
-        Item itemActualizado = itemOptional.get();
+        Item itemActualizado = itemRepository.findById(id)
+                .orElseThrow(() -> new NoEncontradoException("Item no encontrado"));
         Producto producto = productoService.findById(producto_id)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado"));
+                .orElseThrow(() -> new NoEncontradoException("Producto no encontrado"));
 
-        Carrito carrito = carritoService.findById(carrito_id)
-                .orElseThrow(() -> new IllegalArgumentException("Carrito no encontrado"));
+        Long carritoAnterior = itemActualizado.getCarrito().getId();
+        double subtotalAnterior = subtotal(itemActualizado);
         itemActualizado.setProducto(producto);
-        itemActualizado.setCarrito(carrito);
         itemActualizado.setUnidades(unidades);
         itemActualizado.setSubtotal();
-        carrito.setTotal();
-        carritoService.update(carrito.getId(), carrito.getCliente().getId());
+
+        if (carritoAnterior.equals(carrito_id)) {
+            carritoService.sumarTotal(carrito_id, subtotal(itemActualizado) - subtotalAnterior);
+        } else {
+            carritoService.sumarTotal(carrito_id, subtotal(itemActualizado));
+            carritoService.sumarTotal(carritoAnterior, -subtotalAnterior);
+            itemActualizado.setCarrito(carritoService.referencia(carrito_id));
+        }
         return itemRepository.save(itemActualizado);
     }
 
+    @Transactional
     public void delete(Long id) {
-        itemRepository.deleteById(id);
+        itemRepository.findById(id).ifPresent(item -> {
+            carritoService.sumarTotal(item.getCarrito().getId(), -subtotal(item));
+            itemRepository.delete(item);
+        });
+    }
 
+    private static double subtotal(Item item) {
+        return item.getSubtotal() != null ? item.getSubtotal() : 0.0;
     }
 
 }
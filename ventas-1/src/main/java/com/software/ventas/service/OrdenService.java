@@ -1,28 +1,43 @@
 package com.software.ventas.service;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.software.ventas.dto.OrdenResumen;
 import com.software.ventas.entity.Orden;
+import com.software.ventas.exception.NoEncontradoException;
 import com.software.ventas.repository.OrdenRepository;
 import com.software.ventas.entity.Carrito;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Service class for managing {@link Orden} entities.
  * This class provides methods for CRUD operations and managing orders associated with shopping carts.
  * 
  * <p>Methods:</p>
  * <ul>
- *   <li>{@link #findAll()}: Retrieves all orders.</li>
+ *   <li>{@link #findAll()}: Retrieves all orders as read-only projections.</li>
  *   <li>{@link #findById(Long)}: Retrieves an order by its ID.</li>
  *   <li>{@link #findByClienteId(Long)}: Retrieves a list of orders associated with a specific client ID.</li>
  *   <li>{@link #findByFechas(LocalDate, LocalDate)}: Retrieves a list of orders within a specified date range.</li>
+ *   <li>{@link #tipoContenidoExportacion(String)}: Returns the content type of an export format ({@code ndjson} or {@code csv}).</li>
+ *   <li>{@link #exportarPorFechas(LocalDate, LocalDate, String, Writer)}: Streams the orders within a date range to the writer as NDJSON or CSV, with constant memory.</li>
  *   <li>{@link #create(Long)}: Creates a new order based on the specified shopping cart ID, which must be marked as purchased.</li>
+ *   <li>{@link #create(Carrito)}: Creates a new order from an already loaded shopping cart, which must be marked as purchased.</li>
  * </ul>
  * 
  * <p>Dependencies:</p>
@@ -30,6 +45,8 @@ import com.software.ventas.entity.Carrito;
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Lazy}: Indicates that the dependent bean should be lazily initialized.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
  * </ul>
  * 
  * @see Orden
@@ -42,11 +59,14 @@ import com.software.ventas.entity.Carrito;
  * 
  * <p>Métodos:</p>
  * <ul>
- *   <li>{@link #findAll()}: Recupera todas las órdenes.</li>
+ *   <li>{@link #findAll()}: Recupera todas las órdenes como proyecciones de solo lectura.</li>
  *   <li>{@link #findById(Long)}: Recupera una orden por su ID.</li>
  *   <li>{@link #findByClienteId(Long)}: Recupera una lista de órdenes asociadas con un ID de cliente específico.</li>
  *   <li>{@link #findByFechas(LocalDate, LocalDate)}: Recupera una lista de órdenes dentro de un rango de fechas especificado.</li>
+ *   <li>{@link #tipoContenidoExportacion(String)}: Devuelve el tipo de contenido de un formato de exportación ({@code ndjson} o {@code csv}).</li>
+ *   <li>{@link #exportarPorFechas(LocalDate, LocalDate, String, Writer)}: Escribe en el writer las órdenes dentro de un rango de fechas como NDJSON o CSV, con memoria constante.</li>
  *   <li>{@link #create(Long)}: Crea una nueva orden basada en el ID del carrito de compras especificado, que debe estar marcado como comprado.</li>
+ *   <li>{@link #create(Carrito)}: Crea una nueva orden a partir de un carrito de compras ya cargado, que debe estar marcado como comprado.</li>
  * </ul>
  * 
  * <p>Dependencias:</p>
@@ -54,6 +74,8 @@ import com.software.ventas.entity.Carrito;
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Lazy}: Indica que el bean dependiente debe ser inicializado de manera perezosa.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
  * </ul>
  * 
  * @see Orden
@@ -64,6 +86,8 @@ import com.software.ventas.entity.Carrito;
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class OrdenService {
 
     @Autowired
@@ -72,9 +96,13 @@ public class OrdenService {
     @Autowired
     @Lazy
     CarritoService carritoService;
+
+    @Autowired
+    ObjectMapper objectMapper;
     
-    public List<Orden> findAll() {
-        return ordenRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<OrdenResumen> findAll() {
+        return ordenRepository.findAllResumen();
     }
 
     public  Optional<Orden> findById(Long id) {
@@ -89,8 +117,45 @@ public class OrdenService {
         return ordenRepository.findByFecha(fecha_inicio, fecha_fin);
     }
 
+    public String tipoContenidoExportacion(String formato) {
+        switch (formato) {
+            case "ndjson":
+                return "application/x-ndjson";
+            case "csv":
+                return "text/csv";
+            default:
+                throw new IllegalArgumentException("Formato de exportación inválido: " + formato);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarPorFechas(LocalDate fecha_inicio, LocalDate fecha_fin, String formato, Writer writer) throws IOException {
+        boolean csv = tipoContenidoExportacion(formato).equals("text/csv");
+        if (csv) {
+            writer.write("id,fecha,cliente,total\n");
+        }
+        // Las filas se escriben a medida que llegan; nunca se materializa el rango completo
+        try (Stream<OrdenResumen> ordenes = ordenRepository.streamByFecha(fecha_inicio, fecha_fin)) {
+            Iterator<OrdenResumen> iterador = ordenes.iterator();
+            while (iterador.hasNext()) {
+                OrdenResumen orden = iterador.next();
+                if (csv) {
+                    writer.write(orden.getId() + "," + orden.getFecha() + "," + escaparCsv(orden.getCliente()) + "," + orden.getTotal() + "\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(orden));
+                    writer.write("\n");
+                }
+            }
+        }
+        writer.flush();
+    }
+
     public Orden create(Long carrito_id) {
-        Carrito carrito = carritoService.findById(carrito_id).orElseThrow(() -> new IllegalArgumentException("Carrito no encontrado"));
+        Carrito carrito = carritoService.findById(carrito_id).orElseThrow(() -> new NoEncontradoException("Carrito no encontrado"));
+        return create(carrito);
+    }
+
+    public Orden create(Carrito carrito) {
         if (!carrito.getComprado()) {
             throw new IllegalArgumentException("El carrito debe estar marcado como comprado para crear una orden.");
         }
@@ -98,4 +163,14 @@ public class OrdenService {
         return ordenRepository.save(orden);
     }
 
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
 }
@@ -1,16 +1,38 @@
 package com.software.ventas.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.software.ventas.dto.Facetas;
+import com.software.ventas.dto.Pagina;
+import com.software.ventas.dto.ProductoResumen;
 import com.software.ventas.entity.Producto;
 import com.software.ventas.entity.enums.Categoria;
 import com.software.ventas.entity.enums.Genero;
 import com.software.ventas.entity.enums.Talla;
+import com.software.ventas.exception.ConflictoException;
 import com.software.ventas.repository.ProductoRepository;
+import com.software.ventas.repository.ProductoSpecifications;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 
 /**
  * Service class for managing {@link Producto} entities.
@@ -18,25 +40,38 @@ import com.software.ventas.repository.ProductoRepository;
  * 
  * <p>Methods:</p>
  * <ul>
- *   <li>{@link #findAll()}: Retrieves all products.</li>
+ *   <li>{@link #findAll()}: Retrieves all products as read-only projections.</li>
  *   <li>{@link #findById(Long)}: Retrieves a product by its ID.</li>
+ *   <li>{@link #findAllById(Collection)}: Retrieves several products by their IDs with a single query, without going through the cache.</li>
+ *   <li>{@link #findPagina(Long, Integer)}: Retrieves a page of products after the given cursor, ordered by ID.</li>
  *   <li>{@link #findByNombre(String)}: Retrieves a list of products matching the specified name.</li>
  *   <li>{@link #findByCategoria(String)}: Retrieves a list of products in the specified category.</li>
  *   <li>{@link #findByGenero(String)}: Retrieves a list of products matching the specified gender.</li>
  *   <li>{@link #findByTalla(String)}: Retrieves a list of products of the specified size.</li>
+ *   <li>{@link #buscar(String, String, String, String, Double, Double, Boolean)}: Retrieves the products matching any combination of facets with a single query; when two or more of category, gender and size are combined, they are intersected in the {@link CatalogoIndice} first and an empty combination skips the database.</li>
+ *   <li>{@link #buscarTexto(String, Integer)}: Retrieves the products most relevant to a free text query over name, brand and description, ranked by the in-memory {@link BusquedaIndice}.</li>
+ *   <li>{@link #sugerir(String, Integer)}: Retrieves the autocomplete suggestions for a prefix from the in-memory {@link SugerenciasIndice}.</li>
+ *   <li>{@link #contarFacetas(String, String, String)}: Counts the products per category, gender and size from the in-memory {@link CatalogoIndice}.</li>
  *   <li>{@link #create(Producto, String)}: Creates a new product with the specified size.</li>
  *   <li>{@link #updateById(Long, Producto, String)}: Updates an existing product by its ID.</li>
  *   <li>{@link #deleteById(Long)}: Deletes a product by its ID.</li>
+ *   <li>{@link #restarUnidades(Map)}: Subtracts units from the stock of several products in one JDBC batch, in ascending id order, failing if any of them does not have enough units or the driver does not confirm exactly one updated row, invalidates the product and list caches and discounts the units from the suggestions once the purchase commits.</li>
+ *   <li>{@link #recargarCatalogo()}: Rebuilds the in-memory indexes from the database and invalidates the catalog caches after a bulk import.</li>
+ *   <li>Every write increments the {@link CatalogoVersion}, which invalidates the cached responses of the catalog endpoints.</li>
  * </ul>
  * 
  * <p>Dependencies:</p>
  * <ul>
  *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
  *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ *   <li>{@link Timed}: Records the latency histogram of every public method in {@code ventas.servicio}, tagged by class, method and exception.</li>
+ *   <li>{@link Counted}: Counts the failed calls in {@code ventas.servicio.errores}, tagged by class, method and exception.</li>
+ *   <li>{@link Cacheable}, {@link CacheEvict}: Cache the lookups by ID and by enum, and invalidate them on every write.</li>
  * </ul>
  * 
  * @see Producto
  * @see ProductoRepository
+ * @see CatalogoIndice
  * @see Categoria
  * @see Genero
  * @see Talla
@@ -46,25 +81,38 @@ import com.software.ventas.repository.ProductoRepository;
  * 
  * <p>Métodos:</p>
  * <ul>
- *   <li>{@link #findAll()}: Recupera todos los productos.</li>
+ *   <li>{@link #findAll()}: Recupera todos los productos como proyecciones de solo lectura.</li>
  *   <li>{@link #findById(Long)}: Recupera un producto por su ID.</li>
+ *   <li>{@link #findAllById(Collection)}: Recupera varios productos por sus ID con una sola consulta, sin pasar por la caché.</li>
+ *   <li>{@link #findPagina(Long, Integer)}: Recupera una página de productos después del cursor dado, ordenada por ID.</li>
  *   <li>{@link #findByNombre(String)}: Recupera una lista de productos que coinciden con el nombre especificado.</li>
  *   <li>{@link #findByCategoria(String)}: Recupera una lista de productos en la categoría especificada.</li>
  *   <li>{@link #findByGenero(String)}: Recupera una lista de productos que coinciden con el género especificado.</li>
  *   <li>{@link #findByTalla(String)}: Recupera una lista de productos de la talla especificada.</li>
+ *   <li>{@link #buscar(String, String, String, String, Double, Double, Boolean)}: Recupera los productos que cumplen cualquier combinación de facetas con una sola consulta; cuando se combinan dos o más de categoría, género y talla, primero se intersecan en el {@link CatalogoIndice} y una combinación vacía no consulta la base de datos.</li>
+ *   <li>{@link #buscarTexto(String, Integer)}: Recupera los productos más relevantes para una búsqueda de texto libre sobre nombre, marca y descripción, ordenados por el {@link BusquedaIndice} en memoria.</li>
+ *   <li>{@link #sugerir(String, Integer)}: Recupera las sugerencias de autocompletado para un prefijo desde el {@link SugerenciasIndice} en memoria.</li>
+ *   <li>{@link #contarFacetas(String, String, String)}: Cuenta los productos por categoría, género y talla desde el {@link CatalogoIndice} en memoria.</li>
  *   <li>{@link #create(Producto, String)}: Crea un nuevo producto con la talla especificada.</li>
  *   <li>{@link #updateById(Long, Producto, String)}: Actualiza un producto existente por su ID.</li>
  *   <li>{@link #deleteById(Long)}: Elimina un producto por su ID.</li>
+ *   <li>{@link #restarUnidades(Map)}: Resta unidades de las existencias de varios productos en un único lote JDBC, en orden ascendente de id, fallando si alguno no tiene unidades suficientes o el controlador no confirma exactamente una fila actualizada, invalida las cachés del producto y de las listas y descuenta las unidades de las sugerencias al confirmarse la compra.</li>
+ *   <li>{@link #recargarCatalogo()}: Reconstruye los índices en memoria desde la base de datos e invalida las cachés del catálogo después de una importación masiva.</li>
+ *   <li>Cada escritura incrementa la {@link CatalogoVersion}, lo que invalida las respuestas en caché de los endpoints del catálogo.</li>
  * </ul>
  * 
  * <p>Dependencias:</p>
  * <ul>
  *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
  *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ *   <li>{@link Timed}: Registra el histograma de latencia de cada método público en {@code ventas.servicio}, etiquetado por clase, método y excepción.</li>
+ *   <li>{@link Counted}: Cuenta las llamadas fallidas en {@code ventas.servicio.errores}, etiquetadas por clase, método y excepción.</li>
+ *   <li>{@link Cacheable}, {@link CacheEvict}: Guardan en caché las consultas por ID y por enumeración, y las invalidan en cada escritura.</li>
  * </ul>
  * 
  * @see Producto
  * @see ProductoRepository
+ * @see CatalogoIndice
  * @see Categoria
  * @see Genero
  * @see Talla
@@ -72,50 +120,128 @@ import com.software.ventas.repository.ProductoRepository;
 
 
 @Service
+@Timed(value = "ventas.servicio", histogram = true)
+@Counted(value = "ventas.servicio.errores", recordFailuresOnly = true)
 public class ProductoService {
 
+    public static final int LIMITE_PAGINA_MAXIMO = 100;
+
     @Autowired
     private ProductoRepository productoRepository;
 
-    public List<Producto> findAll() {
-        return productoRepository.findAll();
+    @Autowired
+    private CatalogoIndice catalogoIndice;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogoVersion catalogoVersion;
+
+    @Autowired
+    private BusquedaIndice busquedaIndice;
+
+    @Autowired
+    private SugerenciasIndice sugerenciasIndice;
+
+    @Transactional(readOnly = true)
+    public List<ProductoResumen> findAll() {
+        return productoRepository.findAllResumen();
     }
 
+    @Cacheable("productos")
     public Optional<Producto> findById(Long id) {
         return productoRepository.findById(id);
     }
 
+    public List<Producto> findAllById(Collection<Long> ids) {
+        return productoRepository.findAllById(ids);
+    }
+
+    public Pagina<Producto> findPagina(Long despues, Integer limite) {
+        int tamano = Math.min(Math.max(limite, 1), LIMITE_PAGINA_MAXIMO);
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+        List<Producto> productos = productoRepository.findPaginaDespuesDe(despues == null ? 0L : despues, PageRequest.of(0, tamano + 1));
+        Long siguiente = null;
+        if (productos.size() > tamano) {
+            productos = productos.subList(0, tamano);
+            siguiente = productos.get(tamano - 1).getId();
+        }
+        return new Pagina<>(productos, siguiente);
+    }
+
     public List<Producto> findByNombre(String nombre) {
         return productoRepository.findByName(nombre);
     }
 
+    @Cacheable("productosPorCategoria")
     public List<Producto> findByCategoria(String categoria_str) {
-        try {
-            Categoria categoria = Categoria.valueOf(categoria_str);
-            return productoRepository.findByCategoria(categoria);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Categoría inválida: " + categoria_str);
-        }
+        return productoRepository.findByCategoria(parseCategoria(categoria_str));
     }
 
+    @Cacheable("productosPorGenero")
     public List<Producto> findByGenero(String genero_str) {
-        try{
-            Genero genero = Genero.valueOf(genero_str);
-            return productoRepository.findByGenero(genero);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Género inválido: " + genero_str);
-        }
+        return productoRepository.findByGenero(parseGenero(genero_str));
     }
 
+    @Cacheable("productosPorTalla")
     public List<Producto> findByTalla(String talla_str) {
-        try {
-            Talla talla = Talla.valueOf("T" + talla_str);
-            return productoRepository.findByTalla(talla);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Talla inválida: " + talla_str);
+        return productoRepository.findByTalla(parseTalla(talla_str));
+    }
+
+    public Facetas contarFacetas(String categoria_str, String genero_str, String talla_str) {
+        Categoria categoria = categoria_str == null ? null : parseCategoria(categoria_str);
+        Genero genero = genero_str == null ? null : parseGenero(genero_str);
+        Talla talla = talla_str == null ? null : parseTalla(talla_str);
+        return catalogoIndice.contarFacetas(categoria, genero, talla);
+    }
+
+    public List<Producto> buscar(String categoria_str, String genero_str, String talla_str, String marca,
+            Double precioMin, Double precioMax, Boolean enStock) {
+        Categoria categoria = categoria_str == null ? null : parseCategoria(categoria_str);
+        Genero genero = genero_str == null ? null : parseGenero(genero_str);
+        Talla talla = talla_str == null ? null : parseTalla(talla_str);
+        // Dos o más facetas combinadas se intersecan en el índice; una combinación vacía no llega a la base de datos
+        if (catalogoIndice.isCargado() && facetasCombinadas(categoria, genero, talla) >= 2) {
+            List<Long> ids = catalogoIndice.filtrar(categoria, genero, talla);
+            if (ids.isEmpty()) {
+                return new ArrayList<>();
+            }
+            return productoRepository.findAll(
+                    ProductoSpecifications.conFiltros(null, null, null, marca, precioMin, precioMax, enStock)
+                            .and(ProductoSpecifications.conIds(ids)),
+                    Sort.by("id"));
         }
+        return productoRepository.findAll(
+                ProductoSpecifications.conFiltros(categoria, genero, talla, marca, precioMin, precioMax, enStock),
+                Sort.by("id"));
     }
 
+    public List<Producto> buscarTexto(String consulta, Integer limite) {
+        List<Long> ids = busquedaIndice.buscar(consulta, Math.min(Math.max(limite, 1), LIMITE_PAGINA_MAXIMO));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Producto> porId = new HashMap<>();
+        for (Producto producto : productoRepository.findAllById(ids)) {
+            porId.put(producto.getId(), producto);
+        }
+        // Se respeta el orden de relevancia del índice
+        List<Producto> productos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Producto producto = porId.get(id);
+            if (producto != null) {
+                productos.add(producto);
+            }
+        }
+        return productos;
+    }
+
+    public List<String> sugerir(String prefijo, Integer limite) {
+        return sugerenciasIndice.sugerir(prefijo, Math.max(limite, 1));
+    }
+
+    @CacheEvict(value = {"productosPorCategoria", "productosPorGenero", "productosPorTalla"}, allEntries = true)
     public Producto create(Producto producto, String talla_str) {
         try {
             Talla talla = Talla.valueOf("T" + talla_str);
@@ -123,9 +249,18 @@ public class ProductoService {
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Talla inválida: " + talla_str);
         }
-        return productoRepository.save(producto);
+        Producto productoGuardado = productoRepository.save(producto);
+        catalogoIndice.indexar(productoGuardado);
+        busquedaIndice.indexar(productoGuardado);
+        sugerenciasIndice.indexar(productoGuardado);
+        catalogoVersion.incrementar();
+        return productoGuardado;
     }
 
+    @Caching(evict = {
+        @CacheEvict(value = "productos", key = "#id"),
+        @CacheEvict(value = {"productosPorCategoria", "productosPorGenero", "productosPorTalla"}, allEntries = true)
+    })
     public Producto updateById(Long id, Producto producto, String talla_str) {
         Optional<Producto> productoOptional = productoRepository.findById(id);
         Producto productoActualizado = productoOptional.get();
@@ -142,11 +277,91 @@ public class ProductoService {
                 throw new IllegalArgumentException("Talla inválida: " + talla_str);
             }            
             productoActualizado.setImagen(producto.getImagen());
-            return productoRepository.save(productoActualizado);      
+            Producto productoGuardado = productoRepository.save(productoActualizado);
+            catalogoIndice.indexar(productoGuardado);
+            busquedaIndice.indexar(productoGuardado);
+            sugerenciasIndice.indexar(productoGuardado);
+            catalogoVersion.incrementar();
+            return productoGuardado;
     }
 
+    @Caching(evict = {
+        @CacheEvict(value = "productos", key = "#id"),
+        @CacheEvict(value = {"productosPorCategoria", "productosPorGenero", "productosPorTalla"}, allEntries = true)
+    })
     public void deleteById(Long id) {
         productoRepository.deleteById(id);
+        catalogoIndice.eliminar(id);
+        busquedaIndice.eliminar(id);
+        sugerenciasIndice.eliminar(id);
+        catalogoVersion.incrementar();
+    }
+
+    @CacheEvict(value = {"productosPorCategoria", "productosPorGenero", "productosPorTalla"}, allEntries = true)
+    public void recargarCatalogo() {
+        List<Producto> productos = productoRepository.findAll();
+        catalogoIndice.reconstruir(productos);
+        busquedaIndice.reconstruir(productos);
+        sugerenciasIndice.reconstruir(productos);
+        catalogoVersion.incrementar();
+    }
+
+    // Las listas por enumeración incluyen las existencias, así que también quedan obsoletas después de una compra.
+    // Se registra antes del cambio de versión del catálogo para que, al confirmar, las cachés se vacíen antes de que cambie el ETag
+    @Transactional
+    @CacheEvict(value = {"productosPorCategoria", "productosPorGenero", "productosPorTalla"}, allEntries = true, beforeInvocation = true)
+    public void restarUnidades(Map<Long, Integer> unidadesPorProducto) {
+        // Un lote de UPDATE condicionales evita la sobreventa con un solo viaje a la base de datos;
+        // las filas se recorren por id ascendente para que compras concurrentes no se interbloqueen
+        SortedMap<Long, Integer> ordenadas = new TreeMap<>(unidadesPorProducto);
+        int[] actualizados = productoRepository.restarUnidadesEnLote(ordenadas);
+        // Las invalidaciones se aplican al confirmar la transacción, ver CacheConfig
+        Cache productos = cacheManager.getCache("productos");
+        int i = 0;
+        for (Long id : ordenadas.keySet()) {
+            int actualizado = actualizados[i++];
+            if (actualizado == 0) {
+                throw new ConflictoException("No hay unidades suficientes del producto " + id);
+            }
+            // Solo un 1 confirma el descuento: SUCCESS_NO_INFO (-2), que un controlador puede devolver al reescribir el lote,
+            // no prueba que hubiera existencias, así que la compra se revierte en lugar de arriesgar una sobreventa
+            if (actualizado != 1) {
+                throw new IllegalStateException("El lote no confirmó el descuento de unidades del producto " + id + " (" + actualizado + ")");
+            }
+            if (productos != null) {
+                productos.evict(id);
+            }
+        }
+        sugerenciasIndice.restar(ordenadas);
+        catalogoVersion.incrementar();
+    }
+
+    private static int facetasCombinadas(Categoria categoria, Genero genero, Talla talla) {
+        return (categoria != null ? 1 : 0) + (genero != null ? 1 : 0) + (talla != null ? 1 : 0);
+    }
+
+    private Categoria parseCategoria(String categoria_str) {
+        try {
+            return Categoria.valueOf(categoria_str);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Categoría inválida: " + categoria_str);
+        }
+    }
+
+    private Genero parseGenero(String genero_str) {
+        try {
+            return Genero.valueOf(genero_str);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Género inválido: " + genero_str);
+        }
+    }
+
+    private Talla parseTalla(String talla_str) {
+        try {
+            return Talla.valueOf("T" + talla_str);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Talla inválida: " + talla_str);
+        }
     }
 
 
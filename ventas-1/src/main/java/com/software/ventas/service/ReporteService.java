@@ -0,0 +1,212 @@
+package com.software.ventas.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.software.ventas.dto.ProductoVendido;
+import com.software.ventas.dto.ResumenVentas;
+import com.software.ventas.dto.VentasDiarias;
+import com.software.ventas.dto.VentasPeriodo;
+import com.software.ventas.dto.VentasSemana;
+import com.software.ventas.dto.VentasPorCategoria;
+import com.software.ventas.dto.VentasPorGenero;
+import com.software.ventas.entity.Item;
+import com.software.ventas.entity.Orden;
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.ResumenVentaDiaria;
+import com.software.ventas.repository.ItemRepository;
+import com.software.ventas.repository.OrdenRepository;
+import com.software.ventas.repository.ResumenVentaDiariaRepository;
+
+/**
+ * Service class for the sales reports.
+ * Every report is computed in the database with a {@code GROUP BY} query over the orden, item and producto tables,
+ * so only the aggregated rows are transferred instead of the raw orders.
+ * The reports per category and gender read the {@link ResumenVentaDiaria} rollup, which costs one row per day instead of one per order.
+ * 
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #resumen(LocalDate, LocalDate)}: Retrieves the order count, revenue and average ticket within a date range.</li>
+ *   <li>{@link #ventasPorDia(LocalDate, LocalDate)}: Retrieves the sales within a date range grouped by day.</li>
+ *   <li>{@link #ventasPorSemana(LocalDate, LocalDate)}: Retrieves the sales within a date range grouped by ISO week and ISO week-based year, rolled up from the daily totals.</li>
+ *   <li>{@link #ventasPorMes(LocalDate, LocalDate)}: Retrieves the sales within a date range grouped by month.</li>
+ *   <li>{@link #productosMasVendidos(LocalDate, LocalDate, Integer)}: Retrieves the products with the most units sold, up to {@link #LIMITE_PRODUCTOS_MAXIMO}.</li>
+ *   <li>{@link #ventasPorCategoria(LocalDate, LocalDate)}: Retrieves the units and revenue sold per category.</li>
+ *   <li>{@link #ventasPorGenero(LocalDate, LocalDate)}: Retrieves the units and revenue sold per gender.</li>
+ *   <li>{@link #resumenDiario(LocalDate, LocalDate)}: Retrieves the rows of the daily rollup within a date range.</li>
+ *   <li>{@link #acumular(Orden, List)}: Adds a new order to the daily rollup, with one upsert per category and gender of its items.
+ *       The upserts go in one JDBC batch inside the purchase transaction, so an order and its rollup commit together, and in ascending key order,
+ *       after the product rows, so concurrent checkouts lock the rows of the day in the same order and do not deadlock.</li>
+ *   <li>{@link #reconstruirResumenDiario()}: Rebuilds the daily rollup from the existing orders.</li>
+ *   <li>{@link #cargarResumenDiario()}: Checks the daily rollup once the application is ready. It migrates the category and gender columns
+ *       of older schemas to NOT NULL text, and rebuilds the rollup when it has rows with a NULL key or its units differ from the units sold.</li>
+ * </ul>
+ * 
+ * <p>Dependencies:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indicates that a dependency should be automatically injected by Spring.</li>
+ *   <li>{@link Service}: Indicates that this class is a service component in Spring.</li>
+ * </ul>
+ * 
+ * @see OrdenRepository
+ * @see ItemRepository
+ * @see ResumenVentaDiariaRepository
+ * 
+ * Clase de servicio para los reportes de ventas.
+ * Cada reporte se calcula en la base de datos con una consulta {@code GROUP BY} sobre las tablas orden, item y producto,
+ * por lo que solo se transfieren las filas agregadas en lugar de las órdenes completas.
+ * Los reportes por categoría y género leen el resumen {@link ResumenVentaDiaria}, que cuesta una fila por día en lugar de una por orden.
+ * 
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #resumen(LocalDate, LocalDate)}: Recupera el número de órdenes, los ingresos y el ticket promedio dentro de un rango de fechas.</li>
+ *   <li>{@link #ventasPorDia(LocalDate, LocalDate)}: Recupera las ventas dentro de un rango de fechas agrupadas por día.</li>
+ *   <li>{@link #ventasPorSemana(LocalDate, LocalDate)}: Recupera las ventas dentro de un rango de fechas agrupadas por semana ISO y año de la semana ISO, acumuladas a partir de los totales diarios.</li>
+ *   <li>{@link #ventasPorMes(LocalDate, LocalDate)}: Recupera las ventas dentro de un rango de fechas agrupadas por mes.</li>
+ *   <li>{@link #productosMasVendidos(LocalDate, LocalDate, Integer)}: Recupera los productos con más unidades vendidas, hasta {@link #LIMITE_PRODUCTOS_MAXIMO}.</li>
+ *   <li>{@link #ventasPorCategoria(LocalDate, LocalDate)}: Recupera las unidades e ingresos vendidos por categoría.</li>
+ *   <li>{@link #ventasPorGenero(LocalDate, LocalDate)}: Recupera las unidades e ingresos vendidos por género.</li>
+ *   <li>{@link #resumenDiario(LocalDate, LocalDate)}: Recupera las filas del resumen diario dentro de un rango de fechas.</li>
+ *   <li>{@link #acumular(Orden, List)}: Suma una nueva orden al resumen diario, con un upsert por cada categoría y género de sus ítems.
+ *       Los upserts van en un lote JDBC dentro de la transacción de la compra, así la orden y su resumen se confirman juntos, y en orden ascendente de llave,
+ *       después de las filas de producto, así las compras concurrentes bloquean las filas del día en el mismo orden y no se interbloquean.</li>
+ *   <li>{@link #reconstruirResumenDiario()}: Reconstruye el resumen diario a partir de las órdenes existentes.</li>
+ *   <li>{@link #cargarResumenDiario()}: Revisa el resumen diario cuando la aplicación está lista. Migra las columnas de categoría y género
+ *       de esquemas anteriores a texto NOT NULL, y reconstruye el resumen cuando tiene filas con llave NULL o sus unidades difieren de las vendidas.</li>
+ * </ul>
+ * 
+ * <p>Dependencias:</p>
+ * <ul>
+ *   <li>{@link Autowired}: Indica que una dependencia debe ser inyectada automáticamente por Spring.</li>
+ *   <li>{@link Service}: Indica que esta clase es un componente de servicio en Spring.</li>
+ * </ul>
+ * 
+ * @see OrdenRepository
+ * @see ItemRepository
+ * @see ResumenVentaDiariaRepository
+ */
+
+
+@Service
+@Transactional(readOnly = true)
+public class ReporteService {
+
+    public static final int LIMITE_PRODUCTOS_MAXIMO = 100;
+
+    @Autowired
+    private OrdenRepository ordenRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ResumenVentaDiariaRepository resumenVentaDiariaRepository;
+
+    public ResumenVentas resumen(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return ordenRepository.resumenVentas(fecha_inicio, fecha_fin);
+    }
+
+    public List<VentasDiarias> ventasPorDia(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return ordenRepository.ventasPorDia(fecha_inicio, fecha_fin);
+    }
+
+    public List<VentasPeriodo> ventasPorSemana(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        // Se agrupa en Java por el lunes de cada semana: YEAR() junto con la semana ISO mezcla las semanas de los cambios de año
+        Map<LocalDate, VentasSemana> semanas = new LinkedHashMap<>();
+        for (VentasDiarias dia : ordenRepository.ventasPorDia(fecha_inicio, fecha_fin)) {
+            semanas.computeIfAbsent(dia.getFecha().with(DayOfWeek.MONDAY), VentasSemana::new).sumar(dia);
+        }
+        return new ArrayList<VentasPeriodo>(semanas.values());
+    }
+
+    public List<VentasPeriodo> ventasPorMes(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return ordenRepository.ventasPorMes(fecha_inicio, fecha_fin);
+    }
+
+    public List<ProductoVendido> productosMasVendidos(LocalDate fecha_inicio, LocalDate fecha_fin, Integer limite) {
+        validarRango(fecha_inicio, fecha_fin);
+        int tamano = Math.min(Math.max(limite, 1), LIMITE_PRODUCTOS_MAXIMO);
+        return itemRepository.productosMasVendidos(fecha_inicio, fecha_fin, PageRequest.of(0, tamano));
+    }
+
+    public List<VentasPorCategoria> ventasPorCategoria(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return resumenVentaDiariaRepository.ventasPorCategoria(fecha_inicio, fecha_fin);
+    }
+
+    public List<VentasPorGenero> ventasPorGenero(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return resumenVentaDiariaRepository.ventasPorGenero(fecha_inicio, fecha_fin);
+    }
+
+    public List<ResumenVentaDiaria> resumenDiario(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        validarRango(fecha_inicio, fecha_fin);
+        return resumenVentaDiariaRepository.findByFecha(fecha_inicio, fecha_fin);
+    }
+
+    @Transactional
+    public void acumular(Orden orden, List<Item> items) {
+        // Se agrupan los ítems en memoria para hacer un solo upsert por categoría y género, ordenados por la llave única
+        // para que dos compras concurrentes bloqueen las filas del resumen en el mismo orden, siempre después de las de producto
+        Map<List<String>, ResumenVentaDiaria> filas = new TreeMap<>(
+                Comparator.comparing((List<String> clave) -> clave.get(0)).thenComparing(clave -> clave.get(1)));
+        for (Item item : items) {
+            Producto producto = item.getProducto();
+            List<String> clave = List.of(ResumenVentaDiaria.columna(producto.getCategoria()), ResumenVentaDiaria.columna(producto.getGenero()));
+            ResumenVentaDiaria fila = filas.computeIfAbsent(clave,
+                    nueva -> new ResumenVentaDiaria(orden.getFecha(), producto.getCategoria(), producto.getGenero()));
+            fila.setUnidades(fila.getUnidades() + item.getUnidades());
+            fila.setIngresos(fila.getIngresos() + item.getSubtotal());
+        }
+        // En la misma transacción y conexión de la compra: una orden confirmada nunca queda fuera del resumen
+        resumenVentaDiariaRepository.acumularEnLote(new ArrayList<>(filas.values()));
+    }
+
+    @Transactional
+    public int reconstruirResumenDiario() {
+        resumenVentaDiariaRepository.vaciar();
+        return resumenVentaDiariaRepository.reconstruir();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void cargarResumenDiario() {
+        // ddl-auto=update no modifica columnas existentes: las versiones anteriores crearon categoría y género como ENUM nulables,
+        // donde las filas con NULL se duplicaban en cada orden y SIN_CLASIFICAR no cabe
+        if (resumenVentaDiariaRepository.contarColumnasPorMigrar() > 0) {
+            resumenVentaDiariaRepository.vaciar();
+            resumenVentaDiariaRepository.migrarColumnas();
+            resumenVentaDiariaRepository.reconstruir();
+            return;
+        }
+        // Cubre un resumen vacío con órdenes existentes y las filas que no llegaron a escribirse en versiones anteriores
+        if (resumenVentaDiariaRepository.contarSinClasificar() > 0
+                || resumenVentaDiariaRepository.sumarUnidades() != resumenVentaDiariaRepository.sumarUnidadesVendidas()) {
+            reconstruirResumenDiario();
+        }
+    }
+
+    private void validarRango(LocalDate fecha_inicio, LocalDate fecha_fin) {
+        if (fecha_inicio.isAfter(fecha_fin)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+    }
+
+}
@@ -0,0 +1,408 @@
+package com.software.ventas.service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.software.ventas.entity.Producto;
+import com.software.ventas.repository.ProductoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory prefix trie of the product names and brands used for the autocomplete of the search box.
+ * Each suggestion is a distinct name or brand, folded to lower case without accents, and is reachable from the start of each
+ * of its words, so "zoom" suggests "Nike Air Zoom". Suggestions are ranked by the units in stock of the products that share them.
+ *
+ * <p>The trie is stored in flat arrays in breadth-first order: the children of a node are contiguous and sorted, so each keystroke
+ * is a binary search, and every node keeps the ids of its best {@code ventas.sugerencias.maximo} suggestions, so a query costs the
+ * length of the prefix and never walks the subtree. Keys are cut at {@link #PROFUNDIDAD_MAXIMA} characters to bound the memory.</p>
+ *
+ * <p>The trie is immutable: each build publishes a new one through a {@code volatile} reference, so reads take no lock and never
+ * see a half-built trie. The index keeps only the name, brand and units of each product, not the entity. A product write updates
+ * those entries and schedules a single rebuild {@code ventas.sugerencias.espera} later on its own thread, so a burst of writes
+ * costs one build and the suggestions lag the writes by that delay. A purchase discounts its units from the entries once its
+ * transaction commits and schedules a rebuild the same way, so the ranking follows the stock left after the purchases.</p>
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Loads every product from the database once the application is ready.</li>
+ *   <li>{@link #reconstruir(List)}: Replaces the content of the trie with the given products and publishes it right away.</li>
+ *   <li>{@link #indexar(Producto)}: Adds or updates a product and schedules a rebuild.</li>
+ *   <li>{@link #eliminar(Long)}: Removes a product and schedules a rebuild.</li>
+ *   <li>{@link #restar(Map)}: Discounts the units bought per product once the current transaction commits and schedules a rebuild.</li>
+ *   <li>{@link #sugerir(String, int)}: Returns the best suggestions for a prefix.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see BusquedaIndice
+ */
+
+/**
+ * Trie de prefijos en memoria con los nombres y marcas de los productos, usado para el autocompletado del buscador.
+ * Cada sugerencia es un nombre o una marca distinta, en minúsculas y sin tildes, y se alcanza desde el inicio de cada una de sus
+ * palabras, así "zoom" sugiere "Nike Air Zoom". Las sugerencias se ordenan por las unidades en existencia de los productos que las comparten.
+ *
+ * <p>El trie se guarda en arreglos planos en orden de anchura: los hijos de un nodo son contiguos y están ordenados, así cada pulsación
+ * es una búsqueda binaria, y cada nodo guarda los ids de sus mejores {@code ventas.sugerencias.maximo} sugerencias, así una consulta cuesta
+ * la longitud del prefijo y nunca recorre el subárbol. Las claves se cortan en {@link #PROFUNDIDAD_MAXIMA} caracteres para acotar la memoria.</p>
+ *
+ * <p>El trie es inmutable: cada construcción publica uno nuevo con una referencia {@code volatile}, así las lecturas no toman ningún
+ * bloqueo y nunca ven un trie a medio construir. El índice guarda solo el nombre, la marca y las unidades de cada producto, no la entidad.
+ * Una escritura de productos actualiza esos datos y programa una sola reconstrucción {@code ventas.sugerencias.espera} después en su propio
+ * hilo, así una ráfaga de escrituras cuesta una construcción y las sugerencias van ese tiempo detrás de las escrituras. Una compra descuenta
+ * sus unidades de esos datos al confirmarse su transacción y programa una reconstrucción de la misma forma, así el orden sigue las
+ * existencias que quedan después de las compras.</p>
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #cargar()}: Carga todos los productos de la base de datos cuando la aplicación está lista.</li>
+ *   <li>{@link #reconstruir(List)}: Reemplaza el contenido del trie con los productos dados y lo publica de inmediato.</li>
+ *   <li>{@link #indexar(Producto)}: Agrega o actualiza un producto y programa una reconstrucción.</li>
+ *   <li>{@link #eliminar(Long)}: Elimina un producto y programa una reconstrucción.</li>
+ *   <li>{@link #restar(Map)}: Descuenta las unidades compradas de cada producto al confirmarse la transacción actual y programa una reconstrucción.</li>
+ *   <li>{@link #sugerir(String, int)}: Devuelve las mejores sugerencias para un prefijo.</li>
+ * </ul>
+ *
+ * @see ProductoService
+ * @see BusquedaIndice
+ */
+
+@Component
+public class SugerenciasIndice {
+
+    public static final int PROFUNDIDAD_MAXIMA = 32;
+
+    private static final Pattern TILDES = Pattern.compile("\\p{M}+");
+
+    private static final Pattern ESPACIOS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Value("${ventas.sugerencias.maximo:10}")
+    private int maximo;
+
+    @Value("${ventas.sugerencias.espera:PT0.2S}")
+    private Duration espera;
+
+    // Protegido por su propio monitor; las escrituras solo lo retienen para actualizar una entrada
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+
+    // Serializa las construcciones para que un trie nunca se publique sobre otro construido con datos más recientes
+    private final Object construccion = new Object();
+
+    private final AtomicBoolean programada = new AtomicBoolean();
+
+    private ScheduledExecutorService programador;
+
+    private volatile Trie trie = Trie.VACIO;
+
+    @PostConstruct
+    public void iniciar() {
+        programador = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sugerencias-"));
+    }
+
+    @PreDestroy
+    public void detener() {
+        programador.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        reconstruir(productoRepository.findAll());
+    }
+
+    public void reconstruir(List<Producto> todos) {
+        synchronized (entradas) {
+            entradas.clear();
+            for (Producto producto : todos) {
+                entradas.put(producto.getId(), new Entrada(producto));
+            }
+        }
+        publicar();
+    }
+
+    public void indexar(Producto producto) {
+        synchronized (entradas) {
+            entradas.put(producto.getId(), new Entrada(producto));
+        }
+        programar();
+    }
+
+    public void eliminar(Long id) {
+        boolean eliminado;
+        synchronized (entradas) {
+            eliminado = entradas.remove(id) != null;
+        }
+        if (eliminado) {
+            programar();
+        }
+    }
+
+    // Una compra revertida no debe bajar las existencias del índice, así que el descuento espera a la confirmación
+    public void restar(Map<Long, Integer> unidadesPorProducto) {
+        Map<Long, Integer> compradas = new HashMap<>(unidadesPorProducto);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descontar(compradas);
+                }
+            });
+        } else {
+            descontar(compradas);
+        }
+    }
+
+    public List<String> sugerir(String prefijo, int limite) {
+        return trie.sugerir(normalizar(prefijo), limite);
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String plano = TILDES.matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(plano).replaceAll(" ").trim();
+    }
+
+    private void descontar(Map<Long, Integer> compradas) {
+        synchronized (entradas) {
+            for (Map.Entry<Long, Integer> comprada : compradas.entrySet()) {
+                entradas.computeIfPresent(comprada.getKey(), (id, entrada) -> entrada.restar(comprada.getValue()));
+            }
+        }
+        programar();
+    }
+
+    private void programar() {
+        // Solo la primera escritura de una ráfaga programa la construcción; las siguientes ya quedan incluidas en ella
+        if (programada.compareAndSet(false, true)) {
+            programador.schedule(() -> {
+                programada.set(false);
+                publicar();
+            }, espera.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publicar() {
+        synchronized (construccion) {
+            List<Entrada> copia;
+            synchronized (entradas) {
+                copia = new ArrayList<>(entradas.values());
+            }
+            // Una sugerencia por texto normalizado, con las existencias de todos los productos que lo comparten
+            Map<String, String> textos = new LinkedHashMap<>();
+            Map<String, Long> existencias = new HashMap<>();
+            for (Entrada entrada : copia) {
+                for (String texto : new String[] {entrada.nombre, entrada.marca}) {
+                    String clave = normalizar(texto);
+                    if (!clave.isEmpty()) {
+                        textos.putIfAbsent(clave, texto.trim());
+                        existencias.merge(clave, entrada.unidades, Long::sum);
+                    }
+                }
+            }
+            trie = Trie.construir(textos, existencias, maximo);
+        }
+    }
+
+    // Lo único que el índice necesita de un producto, sin retener la entidad ni sus relaciones
+    private static final class Entrada {
+
+        private final String nombre;
+
+        private final String marca;
+
+        private final long unidades;
+
+        Entrada(Producto producto) {
+            this(producto.getNombre(), producto.getMarca(), producto.getUnidades() == null ? 0 : producto.getUnidades());
+        }
+
+        private Entrada(String nombre, String marca, long unidades) {
+            this.nombre = nombre;
+            this.marca = marca;
+            this.unidades = Math.max(unidades, 0);
+        }
+
+        Entrada restar(int compradas) {
+            return new Entrada(nombre, marca, unidades - compradas);
+        }
+
+    }
+
+    private static final class Trie {
+
+        static final Trie VACIO = new Trie(new char[] {0}, new int[] {1}, new int[] {0}, new int[][] {new int[0]}, new String[0]);
+
+        private final char[] letras;
+
+        private final int[] primerHijo;
+
+        private final int[] cantidadHijos;
+
+        private final int[][] mejores;
+
+        private final String[] sugerencias;
+
+        private Trie(char[] letras, int[] primerHijo, int[] cantidadHijos, int[][] mejores, String[] sugerencias) {
+            this.letras = letras;
+            this.primerHijo = primerHijo;
+            this.cantidadHijos = cantidadHijos;
+            this.mejores = mejores;
+            this.sugerencias = sugerencias;
+        }
+
+        List<String> sugerir(String prefijo, int limite) {
+            List<String> resultado = new ArrayList<>();
+            if (prefijo.isEmpty()) {
+                return resultado;
+            }
+            int nodo = 0;
+            for (int i = 0; i < prefijo.length() && i < PROFUNDIDAD_MAXIMA; i++) {
+                nodo = hijo(nodo, prefijo.charAt(i));
+                if (nodo < 0) {
+                    return resultado;
+                }
+            }
+            for (int id : mejores[nodo]) {
+                // Un prefijo más largo que la profundidad máxima se verifica contra el texto completo
+                if (resultado.size() < limite && (prefijo.length() <= PROFUNDIDAD_MAXIMA || contiene(sugerencias[id], prefijo))) {
+                    resultado.add(sugerencias[id]);
+                }
+            }
+            return resultado;
+        }
+
+        private int hijo(int nodo, char letra) {
+            int bajo = primerHijo[nodo];
+            int alto = bajo + cantidadHijos[nodo] - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (letras[medio] < letra) {
+                    bajo = medio + 1;
+                } else if (letras[medio] > letra) {
+                    alto = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean contiene(String sugerencia, String prefijo) {
+            String texto = normalizar(sugerencia);
+            return texto.startsWith(prefijo) || texto.contains(" " + prefijo);
+        }
+
+        static Trie construir(Map<String, String> textos, Map<String, Long> existencias, int maximo) {
+            String[] sugerencias = new String[textos.size()];
+            long[] puntajes = new long[textos.size()];
+            Nodo raiz = new Nodo();
+            int id = 0;
+            for (Map.Entry<String, String> entrada : textos.entrySet()) {
+                String clave = entrada.getKey();
+                sugerencias[id] = entrada.getValue();
+                puntajes[id] = existencias.get(clave);
+                // La sugerencia se inserta desde el inicio de cada palabra
+                for (int inicio = 0; inicio < clave.length(); inicio = clave.indexOf(' ', inicio) + 1) {
+                    raiz.insertar(clave, inicio, id);
+                    if (clave.indexOf(' ', inicio) < 0) {
+                        break;
+                    }
+                }
+                id++;
+            }
+
+            Comparator<Integer> orden = Comparator.<Integer>comparingLong(i -> -puntajes[i]).thenComparing(i -> sugerencias[i]);
+            raiz.calcularMejores(orden, maximo);
+
+            // Aplanado en anchura: los hijos de cada nodo quedan contiguos y ordenados por letra
+            List<Nodo> nodos = new ArrayList<>();
+            Deque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.add(raiz);
+            while (!pendientes.isEmpty()) {
+                Nodo nodo = pendientes.poll();
+                nodos.add(nodo);
+                pendientes.addAll(nodo.hijos.values());
+            }
+            char[] letras = new char[nodos.size()];
+            int[] primerHijo = new int[nodos.size()];
+            int[] cantidadHijos = new int[nodos.size()];
+            int[][] mejores = new int[nodos.size()][];
+            int siguiente = 1;
+            for (int i = 0; i < nodos.size(); i++) {
+                Nodo nodo = nodos.get(i);
+                letras[i] = nodo.letra;
+                primerHijo[i] = siguiente;
+                cantidadHijos[i] = nodo.hijos.size();
+                mejores[i] = nodo.mejores;
+                siguiente += nodo.hijos.size();
+            }
+            return new Trie(letras, primerHijo, cantidadHijos, mejores, sugerencias);
+        }
+
+    }
+
+    // Nodo mutable usado solo mientras se construye el trie
+    private static final class Nodo {
+
+        private char letra;
+
+        private final TreeMap<Character, Nodo> hijos = new TreeMap<>();
+
+        private final List<Integer> terminales = new ArrayList<>();
+
+        private int[] mejores;
+
+        void insertar(String clave, int inicio, int id) {
+            Nodo nodo = this;
+            int fin = Math.min(clave.length(), inicio + PROFUNDIDAD_MAXIMA);
+            for (int i = inicio; i < fin; i++) {
+                char letra = clave.charAt(i);
+                nodo = nodo.hijos.computeIfAbsent(letra, l -> new Nodo());
+                nodo.letra = letra;
+            }
+            nodo.terminales.add(id);
+        }
+
+        void calcularMejores(Comparator<Integer> orden, int maximo) {
+            List<Integer> candidatos = new ArrayList<>(terminales);
+            for (Nodo hijo : hijos.values()) {
+                hijo.calcularMejores(orden, maximo);
+                for (int id : hijo.mejores) {
+                    candidatos.add(id);
+                }
+            }
+            mejores = candidatos.stream().distinct().sorted(orden).limit(maximo).mapToInt(Integer::intValue).toArray();
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.software.ventas.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.software.ventas.dto.Sesion;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service class that issues and verifies stateless session tokens.
+ * A token has the form {@code payload.firma}, where the payload is {@code rol:id:expiracion} and the signature is
+ * an HMAC-SHA256 of the payload, both encoded in Base64 URL. Verifying a token is a local signature check,
+ * so authenticated requests do not need the password nor a BCrypt round.
+ *
+ * <p>Properties:</p>
+ * <ul>
+ *   <li>{@code ventas.seguridad.token-secreto}: Signing key of at least {@value #LONGITUD_MINIMA} bytes, the output size of HMAC-SHA256;
+ *       a shorter key stops the startup. When empty a random key is generated and tokens do not survive a restart.</li>
+ *   <li>{@code ventas.seguridad.token-duracion}: Validity of a token (8 hours by default).</li>
+ * </ul>
+ *
+ * <p>Methods:</p>
+ * <ul>
+ *   <li>{@link #emitir(String, Long)}: Issues a token for the given role and id.</li>
+ *   <li>{@link #verificar(String)}: Returns the session of a token if its signature is valid and it has not expired.</li>
+ *   <li>{@link #clienteDeSesion(Sesion)}: Returns the client id of a session, or answers HTTP 401 if there is no client session.</li>
+ *   <li>{@link #verificarPropietario(Sesion, Supplier)}: Answers HTTP 403 when a client session acts on a cart or an order of another client.
+ *       Requests without a session and administrator sessions are not restricted; the owner is only looked up for client sessions.</li>
+ *   <li>{@link #rechazarCliente(Sesion)}: Answers HTTP 403 when a client session requests a listing that spans every client, such as all
+ *       carts, all orders or the orders of a date range; a client reads its own through {@code /carritos/mios} and {@code /ordenes/mias}.</li>
+ * </ul>
+ *
+ * @see Sesion
+ *
+ * Clase de servicio que emite y verifica tokens de sesión sin estado.
+ * Un token tiene la forma {@code payload.firma}, donde el payload es {@code rol:id:expiracion} y la firma es
+ * un HMAC-SHA256 del payload, ambos codificados en Base64 URL. Verificar un token es una comprobación local de la firma,
+ * por lo que las peticiones autenticadas no necesitan la contraseña ni una ronda de BCrypt.
+ *
+ * <p>Propiedades:</p>
+ * <ul>
+ *   <li>{@code ventas.seguridad.token-secreto}: Clave de firma de al menos {@value #LONGITUD_MINIMA} bytes, el tamaño de salida de HMAC-SHA256;
+ *       una clave más corta detiene el arranque. Si está vacía se genera una clave aleatoria y los tokens no sobreviven a un reinicio.</li>
+ *   <li>{@code ventas.seguridad.token-duracion}: Validez de un token (8 horas por defecto).</li>
+ * </ul>
+ *
+ * <p>Métodos:</p>
+ * <ul>
+ *   <li>{@link #emitir(String, Long)}: Emite un token para el rol y el id dados.</li>
+ *   <li>{@link #verificar(String)}: Devuelve la sesión de un token si su firma es válida y no ha expirado.</li>
+ *   <li>{@link #clienteDeSesion(Sesion)}: Devuelve el id del cliente de una sesión, o responde HTTP 401 si no hay una sesión de cliente.</li>
+ *   <li>{@link #verificarPropietario(Sesion, Supplier)}: Responde HTTP 403 cuando una sesión de cliente actúa sobre un carrito o una orden de otro cliente.
+ *       Las peticiones sin sesión y las sesiones de administrador no se restringen; el dueño solo se busca para sesiones de cliente.</li>
+ *   <li>{@link #rechazarCliente(Sesion)}: Responde HTTP 403 cuando una sesión de cliente pide un listado que abarca a todos los clientes, como
+ *       todos los carritos, todas las órdenes o las órdenes de un rango de fechas; un cliente lee los suyos con {@code /carritos/mios} y {@code /ordenes/mias}.</li>
+ * </ul>
+ *
+ * @see Sesion
+ */
+
+
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    public static final int LONGITUD_MINIMA = 32;
+
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    @Value("${ventas.seguridad.token-secreto:}")
+    private String secreto;
+
+    @Value("${ventas.seguridad.token-duracion:PT8H}")
+    private Duration duracion;
+
+    private SecretKeySpec clave;
+
+    // Mac no es seguro entre hilos; cada hilo reutiliza su propia instancia
+    private ThreadLocal<Mac> mac;
+
+    @PostConstruct
+    public void iniciar() {
+        byte[] bytes;
+        if (secreto.isEmpty()) {
+            log.warn("ventas.seguridad.token-secreto no está configurado; se usa una clave aleatoria y los tokens no sobrevivirán a un reinicio");
+            bytes = new byte[LONGITUD_MINIMA];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = secreto.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < LONGITUD_MINIMA) {
+                throw new IllegalStateException("ventas.seguridad.token-secreto debe tener al menos " + LONGITUD_MINIMA
+                        + " bytes, tiene " + bytes.length);
+            }
+        }
+        clave = new SecretKeySpec(bytes, ALGORITMO);
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instancia = Mac.getInstance(ALGORITMO);
+                instancia.init(clave);
+                return instancia;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("No se pudo inicializar " + ALGORITMO, e);
+            }
+        });
+    }
+
+    public String emitir(String rol, Long id) {
+        long expiracion = Instant.now().plus(duracion).getEpochSecond();
+        String payload = CODIFICADOR.encodeToString((rol + ":" + id + ":" + expiracion).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + CODIFICADOR.encodeToString(firmar(payload));
+    }
+
+    public Optional<Sesion> verificar(String token) {
+        int punto = token.indexOf('.');
+        if (punto < 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, punto);
+        byte[] firma;
+        String[] partes;
+        try {
+            firma = DECODIFICADOR.decode(token.substring(punto + 1));
+            partes = new String(DECODIFICADOR.decode(payload), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Comparación en tiempo constante para no filtrar la firma por tiempos de respuesta
+        if (!MessageDigest.isEqual(firmar(payload), firma) || partes.length != 3) {
+            return Optional.empty();
+        }
+        if (Long.parseLong(partes[2]) < Instant.now().getEpochSecond()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Sesion(partes[0], Long.parseLong(partes[1])));
+    }
+
+    public Long clienteDeSesion(Sesion sesion) {
+        if (sesion == null || !Sesion.CLIENTE.equals(sesion.getRol())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Se requiere un token de sesión de cliente");
+        }
+        return sesion.getId();
+    }
+
+    public void verificarPropietario(Sesion sesion, Supplier<Long> propietario) {
+        if (sesion != null && Sesion.CLIENTE.equals(sesion.getRol()) && !sesion.getId().equals(propietario.get())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "El recurso pertenece a otro cliente");
+        }
+    }
+
+    public void rechazarCliente(Sesion sesion) {
+        if (sesion != null && Sesion.CLIENTE.equals(sesion.getRol())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Una sesión de cliente solo puede listar sus propios recursos");
+        }
+    }
+
+    private byte[] firmar(String payload) {
+        return mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
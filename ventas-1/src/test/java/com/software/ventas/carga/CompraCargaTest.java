@@ -0,0 +1,281 @@
+package com.software.ventas.carga;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.software.ventas.repository.ClienteRepository;
+import com.software.ventas.repository.ProductoRepository;
+import com.software.ventas.service.CatalogoIndice;
+
+/**
+ * End-to-end load test of the cart to checkout flow against an embedded H2 database in MySQL mode.
+ * Concurrent shoppers browse the catalog, create a cart, add items through {@code POST /items/create},
+ * buy it with {@code PUT /carritos/comprar} and read their orders with {@code GET /ordenes/cliente/{id}}.
+ * Most items come from a small set of hot products with little stock, so checkouts compete for the same rows.
+ *
+ * <p>The report is logged with the throughput, the latency percentiles per operation and the consistency checks:
+ * no negative stock, stock decremented exactly by the purchased units, one order per purchased cart with the right total, cart totals that match their items,
+ * and a daily rollup that matches the purchased units.</p>
+ *
+ * <p>Answers with HTTP 4xx are expected rejections, mostly items and checkouts of products that ran out of units. The test fails
+ * when any call answers HTTP 5xx or exceeds {@code carga.tiempo-limite}, when the 4xx share exceeds {@code carga.rechazos-maximo},
+ * when the p99 latency of an operation exceeds {@code carga.p99-maximo-ms} or when a consistency check fails.</p>
+ *
+ * <p>It is excluded from the default build. Run it with {@code mvn -P carga test}; the size is set with the system properties
+ * {@code carga.compradores}, {@code carga.compras}, {@code carga.productos} and {@code carga.unidades}, and
+ * {@code -Dspring.threads.virtual.enabled=true} runs the same load on virtual threads to compare both modes.</p>
+ */
+
+/**
+ * Prueba de carga de extremo a extremo del flujo de carrito a compra contra una base de datos H2 embebida en modo MySQL.
+ * Compradores concurrentes navegan el catálogo, crean un carrito, agregan ítems con {@code POST /items/create},
+ * lo compran con {@code PUT /carritos/comprar} y leen sus órdenes con {@code GET /ordenes/cliente/{id}}.
+ * La mayoría de los ítems vienen de un grupo pequeño de productos con pocas existencias, así que las compras compiten por las mismas filas.
+ *
+ * <p>El reporte se registra con el rendimiento, los percentiles de latencia por operación y las verificaciones de consistencia:
+ * ninguna existencia negativa, existencias descontadas exactamente en las unidades compradas, una orden por carrito comprado con el total correcto, totales de carrito que coinciden con sus ítems,
+ * y un resumen diario que coincide con las unidades compradas.</p>
+ *
+ * <p>Las respuestas HTTP 4xx son rechazos esperados, sobre todo ítems y compras de productos que se quedaron sin unidades. La prueba falla
+ * cuando alguna llamada responde HTTP 5xx o supera {@code carga.tiempo-limite}, cuando la proporción de 4xx supera {@code carga.rechazos-maximo},
+ * cuando la latencia p99 de una operación supera {@code carga.p99-maximo-ms} o cuando falla una verificación de consistencia.</p>
+ *
+ * <p>Está excluida de la construcción por defecto. Se ejecuta con {@code mvn -P carga test}; el tamaño se define con las propiedades de sistema
+ * {@code carga.compradores}, {@code carga.compras}, {@code carga.productos} y {@code carga.unidades}, y
+ * {@code -Dspring.threads.virtual.enabled=true} ejecuta la misma carga con hilos virtuales para comparar ambos modos.</p>
+ */
+
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompraCargaTest {
+
+    private static final int PRODUCTOS_CALIENTES = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(CompraCargaTest.class);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Value("${carga.compradores:32}")
+    private int compradores;
+
+    @Value("${carga.compras:10}")
+    private int compras;
+
+    @Value("${carga.productos:200}")
+    private int productos;
+
+    @Value("${carga.unidades:20}")
+    private int unidades;
+
+    @Value("${carga.tiempo-limite:PT30S}")
+    private Duration tiempoLimite;
+
+    @Value("${carga.rechazos-maximo:0.3}")
+    private double rechazosMaximo;
+
+    @Value("${carga.p99-maximo-ms:5000}")
+    private double p99Maximo;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CatalogoIndice catalogoIndice;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    private final Latencias latencias = new Latencias();
+
+    private final AtomicLong comprasExitosas = new AtomicLong();
+
+    @Test
+    void compradoresConcurrentes() throws Exception {
+        GeneradorDatos generador = new GeneradorDatos(productoRepository, clienteRepository, catalogoIndice);
+        Map<Long, Integer> existencias = generador.sembrarProductos(productos, unidades);
+        List<Long> productoIds = new ArrayList<>(existencias.keySet());
+        List<Long> clienteIds = generador.sembrarClientes(compradores);
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(compradores);
+        List<Callable<Void>> tareas = new ArrayList<>();
+        for (Long clienteId : clienteIds) {
+            tareas.add(() -> {
+                for (int i = 0; i < compras; i++) {
+                    comprar(clienteId, productoIds);
+                }
+                return null;
+            });
+        }
+        long inicio = System.nanoTime();
+        ejecutor.invokeAll(tareas).forEach(tarea -> {
+            try {
+                tarea.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        ejecutor.shutdown();
+
+        List<String> violaciones = verificarConsistencia(existencias);
+
+        double proporcionRechazos = (double) latencias.rechazos() / latencias.llamadas();
+        log.info("Prueba de carga: {} compradores x {} compras, {} productos con {} unidades, hilos {}",
+                compradores, compras, productos, unidades, hilosVirtuales ? "virtuales" : "de plataforma");
+        log.info("Duración %.2f s, %.1f peticiones/s, %.1f compras/s (%d exitosas), %.1f %% de rechazos 4xx".formatted(
+                segundos, latencias.llamadas() / segundos, comprasExitosas.get() / segundos, comprasExitosas.get(), proporcionRechazos * 100));
+        log.info("Latencias por operación:{}{}", System.lineSeparator(), latencias.reporte());
+        log.info(violaciones.isEmpty() ? "Consistencia: sin violaciones" : "Violaciones de consistencia: " + violaciones);
+
+        List<Executable> verificaciones = new ArrayList<>();
+        verificaciones.add(() -> assertTrue(violaciones.isEmpty(), violaciones.toString()));
+        verificaciones.add(() -> assertEquals(0, latencias.errores(), "respuestas HTTP 5xx"));
+        verificaciones.add(() -> assertEquals(0, latencias.agotados(), "llamadas que superaron " + tiempoLimite));
+        verificaciones.add(() -> assertTrue(proporcionRechazos <= rechazosMaximo,
+                "%.3f de rechazos 4xx, el máximo es %.3f".formatted(proporcionRechazos, rechazosMaximo)));
+        latencias.p99().forEach((operacion, p99) -> verificaciones.add(() -> assertTrue(p99 <= p99Maximo,
+                "p99 de %s: %.2f ms, el máximo es %.0f ms".formatted(operacion, p99, p99Maximo))));
+        assertAll(verificaciones);
+    }
+
+    private void comprar(Long clienteId, List<Long> productoIds) throws Exception {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        llamar("catalogo", HttpRequest.newBuilder(uri("/productos/pagina?limite=20")).GET());
+
+        HttpResponse<String> carrito = llamar("carrito", HttpRequest.newBuilder(uri("/carritos/create?cliente_id=" + clienteId))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (carrito == null || carrito.statusCode() != 200) {
+            return;
+        }
+        long carritoId = objectMapper.readTree(carrito.body()).get("id").asLong();
+
+        int items = 1 + aleatorio.nextInt(3);
+        for (int i = 0; i < items; i++) {
+            // Siete de cada diez ítems vienen de los productos calientes para forzar la competencia por existencias
+            Long productoId = aleatorio.nextInt(10) < 7
+                    ? productoIds.get(aleatorio.nextInt(PRODUCTOS_CALIENTES))
+                    : productoIds.get(aleatorio.nextInt(productoIds.size()));
+            llamar("item", HttpRequest.newBuilder(uri("/items/create?unidades=" + (1 + aleatorio.nextInt(2))
+                    + "&producto_id=" + productoId + "&carrito_id=" + carritoId)).POST(HttpRequest.BodyPublishers.noBody()));
+        }
+
+        HttpResponse<String> compra = llamar("comprar", HttpRequest.newBuilder(uri("/carritos/comprar?id=" + carritoId))
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        if (compra != null && compra.statusCode() == 200) {
+            comprasExitosas.incrementAndGet();
+        }
+
+        llamar("ordenes", HttpRequest.newBuilder(uri("/ordenes/cliente/" + clienteId)).GET());
+    }
+
+    // Devuelve null cuando la llamada supera el tiempo límite
+    private HttpResponse<String> llamar(String operacion, HttpRequest.Builder peticion) throws Exception {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> respuesta = cliente.send(peticion.timeout(tiempoLimite).build(), HttpResponse.BodyHandlers.ofString());
+            latencias.registrar(operacion, System.nanoTime() - inicio, respuesta.statusCode());
+            return respuesta;
+        } catch (HttpTimeoutException e) {
+            latencias.registrarTiempoAgotado(operacion, System.nanoTime() - inicio);
+            return null;
+        }
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+
+    private List<String> verificarConsistencia(Map<Long, Integer> existencias) {
+        List<String> violaciones = new ArrayList<>();
+
+        Integer negativos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM producto WHERE unidades < 0", Integer.class);
+        if (negativos != 0) {
+            violaciones.add(negativos + " productos con existencias negativas");
+        }
+
+        Map<Long, Long> vendidas = new HashMap<>();
+        jdbcTemplate.query("SELECT i.producto_id, SUM(i.unidades) FROM item i JOIN carrito c ON c.id = i.carrito_id "
+                + "WHERE c.comprado = TRUE GROUP BY i.producto_id",
+                fila -> {
+                    vendidas.put(fila.getLong(1), fila.getLong(2));
+                });
+        jdbcTemplate.query("SELECT id, unidades FROM producto", fila -> {
+            long id = fila.getLong(1);
+            long esperadas = existencias.get(id) - vendidas.getOrDefault(id, 0L);
+            if (fila.getLong(2) != esperadas) {
+                violaciones.add("producto " + id + " tiene " + fila.getLong(2) + " unidades, se esperaban " + esperadas);
+            }
+        });
+
+        Integer sinOrden = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carrito WHERE comprado = TRUE AND orden_id IS NULL", Integer.class);
+        if (sinOrden != 0) {
+            violaciones.add(sinOrden + " carritos comprados sin orden");
+        }
+        Long ordenes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orden", Long.class);
+        if (ordenes != comprasExitosas.get()) {
+            violaciones.add(ordenes + " órdenes para " + comprasExitosas.get() + " compras exitosas");
+        }
+        Integer totalesErroneos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orden o WHERE ABS(o.total - "
+                + "(SELECT COALESCE(SUM(i.subtotal), 0) FROM item i WHERE i.carrito_id = o.carrito_id)) > 0.01", Integer.class);
+        if (totalesErroneos != 0) {
+            violaciones.add(totalesErroneos + " órdenes cuyo total no coincide con sus ítems");
+        }
+        Integer carritosErroneos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carrito c WHERE ABS(COALESCE(c.total, 0) - "
+                + "(SELECT COALESCE(SUM(i.subtotal), 0) FROM item i WHERE i.carrito_id = c.id)) > 0.01", Integer.class);
+        if (carritosErroneos != 0) {
+            violaciones.add(carritosErroneos + " carritos cuyo total no coincide con sus ítems");
+        }
+
+        long unidadesVendidas = vendidas.values().stream().mapToLong(Long::longValue).sum();
+        Long unidadesResumen = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(unidades), 0) FROM resumen_venta_diaria", Long.class);
+        if (unidadesResumen != unidadesVendidas) {
+            violaciones.add("el resumen diario suma " + unidadesResumen + " unidades, se compraron " + unidadesVendidas);
+        }
+
+        return violaciones;
+    }
+
+}
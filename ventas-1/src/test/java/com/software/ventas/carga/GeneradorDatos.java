@@ -0,0 +1,84 @@
+package com.software.ventas.carga;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.software.ventas.entity.Cliente;
+import com.software.ventas.entity.Producto;
+import com.software.ventas.entity.enums.Categoria;
+import com.software.ventas.entity.enums.Genero;
+import com.software.ventas.entity.enums.Talla;
+import com.software.ventas.entity.enums.TipoDocumento;
+import com.software.ventas.repository.ClienteRepository;
+import com.software.ventas.repository.ProductoRepository;
+import com.software.ventas.service.CatalogoIndice;
+
+/**
+ * Seeds the embedded database of the load test with a deterministic catalog and a set of clients.
+ * Every product starts with the same stock, and the clients share one precomputed password hash
+ * so seeding does not spend a BCrypt round per client.
+ */
+
+/**
+ * Siembra la base de datos embebida de la prueba de carga con un catálogo determinista y un conjunto de clientes.
+ * Todos los productos empiezan con las mismas existencias, y los clientes comparten un hash de contraseña precalculado
+ * para que la siembra no gaste una ronda de BCrypt por cliente.
+ */
+
+class GeneradorDatos {
+
+    private final ProductoRepository productoRepository;
+
+    private final ClienteRepository clienteRepository;
+
+    private final CatalogoIndice catalogoIndice;
+
+    GeneradorDatos(ProductoRepository productoRepository, ClienteRepository clienteRepository, CatalogoIndice catalogoIndice) {
+        this.productoRepository = productoRepository;
+        this.clienteRepository = clienteRepository;
+        this.catalogoIndice = catalogoIndice;
+    }
+
+    // Devuelve las existencias iniciales por id de producto
+    Map<Long, Integer> sembrarProductos(int cantidad, int unidades) {
+        Categoria[] categorias = Categoria.values();
+        Genero[] generos = Genero.values();
+        Talla[] tallas = Talla.values();
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            productos.add(new Producto(null, "Producto " + i, 50_000.0 + (i % 100) * 1_000, "imagen-" + i + ".png",
+                    "Descripción " + i, unidades, generos[i % generos.length], categorias[i % categorias.length],
+                    "Marca " + (i % 7), tallas[i % tallas.length]));
+        }
+        Map<Long, Integer> existencias = new LinkedHashMap<>();
+        for (Producto producto : productoRepository.saveAll(productos)) {
+            existencias.put(producto.getId(), unidades);
+        }
+        // El índice se cargó al arrancar con la base vacía
+        catalogoIndice.reconstruir(productoRepository.findAll());
+        return existencias;
+    }
+
+    List<Long> sembrarClientes(int cantidad) {
+        String hash = new BCryptPasswordEncoder().encode("carga");
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNombre_usuario("comprador" + i);
+            cliente.asignarHash(hash);
+            cliente.setNombres("Comprador");
+            cliente.setApellidos(String.valueOf(i));
+            cliente.setTipo_documento(TipoDocumento.CC);
+            cliente.setNumero_documento(String.valueOf(1_000_000 + i));
+            cliente.setFecha_nacimiento(LocalDate.of(1990, 1, 1));
+            clientes.add(cliente);
+        }
+        return clienteRepository.saveAll(clientes).stream().map(Cliente::getId).toList();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.software.ventas.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe recorder of the latency and the outcome of each operation of the load test.
+ * Each call is classified as a success, an expected rejection (HTTP 4xx, such as a product that ran out of units),
+ * a server error (HTTP 5xx) or a timeout, so the test can fail on errors without counting the stock-outs.
+ * The report prints, per operation, the number of calls, each kind of failure and the p50, p95, p99 and maximum latency in milliseconds.
+ */
+
+/**
+ * Registro seguro entre hilos de la latencia y el resultado de cada operación de la prueba de carga.
+ * Cada llamada se clasifica como éxito, rechazo esperado (HTTP 4xx, como un producto que se quedó sin unidades),
+ * error del servidor (HTTP 5xx) o tiempo agotado, para que la prueba falle por errores sin contar los agotamientos de existencias.
+ * El reporte imprime, por operación, el número de llamadas, cada tipo de fallo y la latencia p50, p95, p99 y máxima en milisegundos.
+ */
+
+class Latencias {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> muestras = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> rechazos = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> errores = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> agotados = new ConcurrentHashMap<>();
+
+    void registrar(String operacion, long nanos, int estado) {
+        muestras.computeIfAbsent(operacion, clave -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (estado >= 500) {
+            contar(errores, operacion);
+        } else if (estado >= 400) {
+            contar(rechazos, operacion);
+        }
+    }
+
+    void registrarTiempoAgotado(String operacion, long nanos) {
+        muestras.computeIfAbsent(operacion, clave -> new ConcurrentLinkedQueue<>()).add(nanos);
+        contar(agotados, operacion);
+    }
+
+    long llamadas() {
+        return muestras.values().stream().mapToLong(ConcurrentLinkedQueue::size).sum();
+    }
+
+    long rechazos() {
+        return total(rechazos);
+    }
+
+    long errores() {
+        return total(errores);
+    }
+
+    long agotados() {
+        return total(agotados);
+    }
+
+    Map<String, Double> p99() {
+        Map<String, Double> p99 = new ConcurrentHashMap<>();
+        muestras.forEach((operacion, valores) -> p99.put(operacion, percentil(ordenadas(valores), 99)));
+        return p99;
+    }
+
+    String reporte() {
+        StringBuilder reporte = new StringBuilder(String.format("%-12s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+                "operacion", "llamadas", "4xx", "5xx", "agotadas", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        muestras.keySet().stream().sorted().forEach(operacion -> {
+            long[] ordenadas = ordenadas(muestras.get(operacion));
+            reporte.append(String.format("%-12s %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f%n", operacion, ordenadas.length,
+                    valor(rechazos, operacion), valor(errores, operacion), valor(agotados, operacion),
+                    percentil(ordenadas, 50), percentil(ordenadas, 95), percentil(ordenadas, 99), ordenadas[ordenadas.length - 1] / 1e6));
+        });
+        return reporte.toString();
+    }
+
+    private static void contar(Map<String, AtomicLong> contadores, String operacion) {
+        contadores.computeIfAbsent(operacion, clave -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static long valor(Map<String, AtomicLong> contadores, String operacion) {
+        AtomicLong contador = contadores.get(operacion);
+        return contador != null ? contador.get() : 0;
+    }
+
+    private static long total(Map<String, AtomicLong> contadores) {
+        return contadores.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private static long[] ordenadas(ConcurrentLinkedQueue<Long> valores) {
+        long[] ordenadas = valores.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ordenadas);
+        return ordenadas;
+    }
+
+    private static double percentil(long[] ordenadas, int percentil) {
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+}
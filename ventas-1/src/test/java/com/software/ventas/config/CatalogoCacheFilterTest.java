@@ -0,0 +1,83 @@
+package com.software.ventas.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.software.ventas.service.CatalogoVersion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Unit tests of {@link CatalogoCacheFilter}: the plain and gzip variants of a cached response have different {@code ETag}s,
+ * and {@code If-None-Match} only answers HTTP 304 with the {@code ETag} of the variant the client would receive.
+ */
+
+/**
+ * Pruebas unitarias de {@link CatalogoCacheFilter}: las variantes plana y gzip de una respuesta en caché tienen {@code ETag}s
+ * distintos, y {@code If-None-Match} solo responde HTTP 304 con el {@code ETag} de la variante que recibiría el cliente.
+ */
+
+class CatalogoCacheFilterTest {
+
+    private CatalogoCacheFilter filtro;
+
+    @BeforeEach
+    void iniciar() {
+        filtro = new CatalogoCacheFilter();
+        ReflectionTestUtils.setField(filtro, "catalogoVersion", new CatalogoVersion());
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filtro, "maximoBytes", 1L << 20);
+        filtro.iniciar();
+    }
+
+    @Test
+    void cadaVarianteTieneSuPropioEtag() throws Exception {
+        MockHttpServletResponse plana = pedir(null, null);
+        MockHttpServletResponse comprimida = pedir("gzip", null);
+        String etag = plana.getHeader(HttpHeaders.ETAG);
+        String etagComprimido = comprimida.getHeader(HttpHeaders.ETAG);
+
+        assertEquals("gzip", comprimida.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(etag, etagComprimido);
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gzip\"", etagComprimido);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, pedir(null, etag).getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, pedir("gzip", etagComprimido).getStatus());
+        assertEquals(HttpServletResponse.SC_OK, pedir("gzip", etag).getStatus());
+        assertEquals(HttpServletResponse.SC_OK, pedir(null, etagComprimido).getStatus());
+    }
+
+    private MockHttpServletResponse pedir(String codificaciones, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/productos");
+        if (codificaciones != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, codificaciones);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+}
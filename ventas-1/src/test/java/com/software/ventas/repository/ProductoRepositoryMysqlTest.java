@@ -0,0 +1,106 @@
+package com.software.ventas.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.software.ventas.exception.ConflictoException;
+import com.software.ventas.service.CatalogoVersion;
+import com.software.ventas.service.ProductoService;
+import com.software.ventas.service.SugerenciasIndice;
+
+/**
+ * Test of the conditional stock discount batch against a real MySQL server with {@code rewriteBatchedStatements=true},
+ * the driver setting that can turn the update counts of a batch into {@code SUCCESS_NO_INFO}. It checks that the driver
+ * still reports one count per product, and that {@link ProductoService#restarUnidades(Map)} rejects the product without
+ * enough units without leaving negative stock. The load test only runs on H2, which always reports the counts.
+ *
+ * <p>It is skipped unless {@code -Dmysql.url=jdbc:mysql://host:3306/base} is given, with {@code mysql.usuario} and
+ * {@code mysql.contrasena}. It works on a temporary {@code producto} table of its own connection, which hides the real
+ * table of that database without touching it.</p>
+ */
+
+/**
+ * Prueba del lote condicional de descuento de existencias contra un servidor MySQL real con {@code rewriteBatchedStatements=true},
+ * la opción del controlador que puede convertir los conteos de un lote en {@code SUCCESS_NO_INFO}. Verifica que el controlador
+ * siga informando un conteo por producto, y que {@link ProductoService#restarUnidades(Map)} rechace el producto sin unidades
+ * suficientes sin dejar existencias negativas. La prueba de carga solo se ejecuta sobre H2, que siempre informa los conteos.
+ *
+ * <p>Se omite salvo que se indique {@code -Dmysql.url=jdbc:mysql://host:3306/base}, con {@code mysql.usuario} y
+ * {@code mysql.contrasena}. Trabaja sobre una tabla temporal {@code producto} de su propia conexión, que oculta la tabla real
+ * de esa base de datos sin modificarla.</p>
+ */
+
+class ProductoRepositoryMysqlTest {
+
+    private SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductoRepositoryCustomImpl productoRepositoryCustom;
+
+    @BeforeEach
+    void iniciar() {
+        String url = System.getProperty("mysql.url");
+        assumeTrue(url != null && !url.isBlank(), "Se requiere -Dmysql.url para la prueba contra MySQL");
+        dataSource = new SingleConnectionDataSource(url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true",
+                System.getProperty("mysql.usuario", "root"), System.getProperty("mysql.contrasena", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE producto (id BIGINT NOT NULL PRIMARY KEY, unidades INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO producto (id, unidades) VALUES (1, 5), (2, 1)");
+        productoRepositoryCustom = new ProductoRepositoryCustomImpl();
+        ReflectionTestUtils.setField(productoRepositoryCustom, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void detener() {
+        if (dataSource != null) {
+            jdbcTemplate.execute("DROP TEMPORARY TABLE IF EXISTS producto");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void elLoteInformaUnConteoPorProducto() {
+        int[] actualizados = productoRepositoryCustom.restarUnidadesEnLote(new TreeMap<>(Map.of(1L, 2, 2L, 3)));
+
+        assertArrayEquals(new int[] {1, 0}, actualizados);
+        assertEquals(3, unidades(1L));
+        assertEquals(1, unidades(2L));
+    }
+
+    @Test
+    void laCompraSinExistenciasSeRechaza() {
+        ProductoRepository productoRepository = mock(ProductoRepository.class);
+        when(productoRepository.restarUnidadesEnLote(any()))
+                .thenAnswer(invocacion -> productoRepositoryCustom.restarUnidadesEnLote(invocacion.getArgument(0)));
+        ProductoService productoService = new ProductoService();
+        ReflectionTestUtils.setField(productoService, "productoRepository", productoRepository);
+        ReflectionTestUtils.setField(productoService, "cacheManager", mock(CacheManager.class));
+        ReflectionTestUtils.setField(productoService, "catalogoVersion", mock(CatalogoVersion.class));
+        ReflectionTestUtils.setField(productoService, "sugerenciasIndice", mock(SugerenciasIndice.class));
+
+        assertThrows(ConflictoException.class, () -> productoService.restarUnidades(Map.of(1L, 2, 2L, 3)));
+        assertEquals(1, unidades(2L));
+    }
+
+    private int unidades(Long id) {
+        return jdbcTemplate.queryForObject("SELECT unidades FROM producto WHERE id = ?", Integer.class, id);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.software.ventas.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.software.ventas.entity.Administrador;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of {@link AutenticacionService}: verification and cost migration of BCrypt hashes, and stored values that are not
+ * BCrypt hashes, which must fail the login instead of throwing.
+ */
+
+/**
+ * Pruebas unitarias de {@link AutenticacionService}: verificación y migración de costo de hashes BCrypt, y valores guardados que no
+ * son hashes BCrypt, que deben fallar el inicio de sesión en lugar de lanzar una excepción.
+ */
+
+class AutenticacionServiceTest {
+
+    private static final int FUERZA = 4;
+
+    private AutenticacionService autenticacionService;
+
+    @BeforeEach
+    void iniciar() {
+        autenticacionService = new AutenticacionService();
+        ReflectionTestUtils.setField(autenticacionService, "codificador", new BCryptPasswordEncoder(FUERZA));
+        ReflectionTestUtils.setField(autenticacionService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(autenticacionService, "fuerza", FUERZA);
+        ReflectionTestUtils.setField(autenticacionService, "hilos", 1);
+        ReflectionTestUtils.setField(autenticacionService, "capacidadCola", 4);
+        autenticacionService.iniciar();
+    }
+
+    @AfterEach
+    void detener() {
+        autenticacionService.detener();
+    }
+
+    @Test
+    void verificaYMigraLosHashesBcrypt() {
+        Administrador actual = administrador(autenticacionService.codificar("clave"));
+        Administrador anterior = administrador(new BCryptPasswordEncoder(5).encode("clave"));
+
+        assertTrue(autenticacionService.verificar(actual, "clave"));
+        assertFalse(autenticacionService.verificar(actual, "otra"));
+        assertFalse(autenticacionService.requiereRehash(actual));
+        assertTrue(autenticacionService.requiereRehash(anterior));
+        assertTrue(autenticacionService.autenticar(List.of(anterior), "clave").join()
+                .map(administrador -> !autenticacionService.requiereRehash(administrador)).orElse(false));
+    }
+
+    @Test
+    void rechazaUnHashQueNoEsBcryptSinFallar() {
+        for (String guardado : new String[] {"clave", "", "$2a$", "$2a$xx$" + "a".repeat(53)}) {
+            Administrador administrador = administrador(guardado);
+
+            assertTrue(autenticacionService.requiereRehash(administrador));
+            assertFalse(autenticacionService.verificar(administrador, guardado));
+            assertTrue(autenticacionService.autenticar(List.of(administrador), guardado).join().isEmpty());
+        }
+    }
+
+    private static Administrador administrador(String hash) {
+        return new Administrador("admin", hash);
+    }
+
+}
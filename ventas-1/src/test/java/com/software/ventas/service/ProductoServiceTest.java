@@ -0,0 +1,77 @@
+package com.software.ventas.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import com.software.ventas.exception.ConflictoException;
+import com.software.ventas.repository.ProductoRepository;
+
+/**
+ * Unit tests of the stock discount of {@link ProductoService}: only an update count of exactly one per product confirms
+ * the discount, so a stock-out and a batch whose driver does not report the counts both fail the purchase.
+ */
+
+/**
+ * Pruebas unitarias del descuento de existencias de {@link ProductoService}: solo un conteo de exactamente una fila por producto
+ * confirma el descuento, así que tanto un producto agotado como un lote cuyo controlador no informa los conteos hacen fallar la compra.
+ */
+
+@ExtendWith(MockitoExtension.class)
+class ProductoServiceTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CatalogoVersion catalogoVersion;
+
+    @Mock
+    private SugerenciasIndice sugerenciasIndice;
+
+    @InjectMocks
+    private ProductoService productoService;
+
+    @Test
+    void descuentaCuandoCadaProductoActualizaUnaFila() {
+        when(productoRepository.restarUnidadesEnLote(any())).thenReturn(new int[] {1, 1});
+
+        productoService.restarUnidades(Map.of(1L, 2, 2L, 1));
+
+        verify(sugerenciasIndice).restar(new TreeMap<>(Map.of(1L, 2, 2L, 1)));
+        verify(catalogoVersion).incrementar();
+    }
+
+    @Test
+    void rechazaUnProductoAgotado() {
+        when(productoRepository.restarUnidadesEnLote(any())).thenReturn(new int[] {1, 0});
+
+        assertThrows(ConflictoException.class, () -> productoService.restarUnidades(Map.of(1L, 2, 2L, 1)));
+        verify(catalogoVersion, never()).incrementar();
+    }
+
+    @Test
+    void rechazaUnLoteSinConteos() {
+        when(productoRepository.restarUnidadesEnLote(any())).thenReturn(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+        assertThrows(IllegalStateException.class, () -> productoService.restarUnidades(Map.of(1L, 2, 2L, 1)));
+        verify(catalogoVersion, never()).incrementar();
+    }
+
+}
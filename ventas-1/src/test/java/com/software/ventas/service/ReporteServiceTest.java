@@ -0,0 +1,85 @@
+package com.software.ventas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.software.ventas.dto.VentasDiarias;
+import com.software.ventas.dto.VentasPeriodo;
+import com.software.ventas.repository.OrdenRepository;
+
+/**
+ * Unit tests of the weekly sales report of {@link ReporteService}, focused on the weeks that cross a year boundary.
+ */
+
+/**
+ * Pruebas unitarias del reporte de ventas semanales de {@link ReporteService}, enfocadas en las semanas que cruzan un cambio de año.
+ */
+
+@ExtendWith(MockitoExtension.class)
+class ReporteServiceTest {
+
+    @Mock
+    private OrdenRepository ordenRepository;
+
+    @InjectMocks
+    private ReporteService reporteService;
+
+    @Test
+    void ventasPorSemanaUsaElAnioDeLaSemanaIso() {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fin = LocalDate.of(2025, 1, 5);
+        when(ordenRepository.ventasPorDia(inicio, fin)).thenReturn(List.of(
+                dia(LocalDate.of(2024, 1, 2), 2, 100.0),
+                dia(LocalDate.of(2024, 12, 30), 1, 40.0),
+                dia(LocalDate.of(2025, 1, 2), 3, 80.0)));
+
+        List<VentasPeriodo> semanas = reporteService.ventasPorSemana(inicio, fin);
+
+        assertEquals(2, semanas.size());
+        verificar(semanas.get(0), 2024, 1, 2, 100.0);
+        // El 2024-12-30 es la semana 1 de 2025 y se suma con el 2025-01-02, no con la primera semana de 2024
+        verificar(semanas.get(1), 2025, 1, 4, 120.0);
+        assertEquals(30.0, semanas.get(1).getTicketPromedio(), 1e-9);
+    }
+
+    private static void verificar(VentasPeriodo semana, int anio, int periodo, long ordenes, double ingresos) {
+        assertEquals(anio, semana.getAnio());
+        assertEquals(periodo, semana.getPeriodo());
+        assertEquals(ordenes, semana.getOrdenes());
+        assertEquals(ingresos, semana.getIngresos(), 1e-9);
+    }
+
+    private static VentasDiarias dia(LocalDate fecha, long ordenes, double ingresos) {
+        return new VentasDiarias() {
+            @Override
+            public LocalDate getFecha() {
+                return fecha;
+            }
+
+            @Override
+            public Long getOrdenes() {
+                return ordenes;
+            }
+
+            @Override
+            public Double getIngresos() {
+                return ingresos;
+            }
+
+            @Override
+            public Double getTicketPromedio() {
+                return ingresos / ordenes;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.software.ventas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.software.ventas.entity.Producto;
+
+/**
+ * Unit tests of {@link SugerenciasIndice}: the units discounted by a purchase change the ranking of the suggestions
+ * once the scheduled rebuild runs.
+ */
+
+/**
+ * Pruebas unitarias de {@link SugerenciasIndice}: las unidades descontadas por una compra cambian el orden de las sugerencias
+ * cuando se ejecuta la reconstrucción programada.
+ */
+
+class SugerenciasIndiceTest {
+
+    private SugerenciasIndice sugerenciasIndice;
+
+    @BeforeEach
+    void iniciar() {
+        sugerenciasIndice = new SugerenciasIndice();
+        ReflectionTestUtils.setField(sugerenciasIndice, "maximo", 10);
+        ReflectionTestUtils.setField(sugerenciasIndice, "espera", Duration.ofMillis(10));
+        sugerenciasIndice.iniciar();
+    }
+
+    @AfterEach
+    void detener() {
+        sugerenciasIndice.detener();
+    }
+
+    @Test
+    void lasComprasCambianElOrden() throws InterruptedException {
+        sugerenciasIndice.reconstruir(List.of(producto(1L, "Air Zoom", "Nike", 10), producto(2L, "Air Max", "Nike", 5)));
+        assertEquals(List.of("Air Zoom", "Air Max"), sugerenciasIndice.sugerir("air", 2));
+
+        sugerenciasIndice.restar(Map.of(1L, 8));
+
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!sugerenciasIndice.sugerir("air", 2).get(0).equals("Air Max") && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("Air Max", "Air Zoom"), sugerenciasIndice.sugerir("air", 2));
+    }
+
+    private static Producto producto(Long id, String nombre, String marca, int unidades) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre(nombre);
+        producto.setMarca(marca);
+        producto.setUnidades(unidades);
+        return producto;
+    }
+
+}
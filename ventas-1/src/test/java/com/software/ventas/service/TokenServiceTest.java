@@ -0,0 +1,113 @@
+package com.software.ventas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.software.ventas.dto.Sesion;
+
+/**
+ * Unit tests of {@link TokenService}: signing and verifying a token, expired and tampered tokens,
+ * the minimum length of the configured secret and the ownership check of client sessions and their rejection from the listings of every client.
+ */
+
+/**
+ * Pruebas unitarias de {@link TokenService}: firma y verificación de un token, tokens expirados y alterados,
+ * la longitud mínima del secreto configurado y la verificación del dueño en las sesiones de cliente y su rechazo en los listados de todos los clientes.
+ */
+
+class TokenServiceTest {
+
+    private static final String SECRETO = "una-clave-de-prueba-de-32-bytes!";
+
+    @Test
+    void verificaElTokenQueEmite() {
+        TokenService tokenService = tokenService(SECRETO, Duration.ofHours(1));
+
+        Optional<Sesion> sesion = tokenService.verificar(tokenService.emitir(Sesion.CLIENTE, 7L));
+
+        assertTrue(sesion.isPresent());
+        assertEquals(Sesion.CLIENTE, sesion.get().getRol());
+        assertEquals(7L, sesion.get().getId());
+    }
+
+    @Test
+    void rechazaUnTokenExpirado() {
+        TokenService tokenService = tokenService(SECRETO, Duration.ofSeconds(-1));
+
+        assertTrue(tokenService.verificar(tokenService.emitir(Sesion.CLIENTE, 7L)).isEmpty());
+    }
+
+    @Test
+    void rechazaUnPayloadAlterado() {
+        TokenService tokenService = tokenService(SECRETO, Duration.ofHours(1));
+        String token = tokenService.emitir(Sesion.CLIENTE, 7L);
+        String firma = token.substring(token.indexOf('.') + 1);
+        String[] partes = decodificar(token.substring(0, token.indexOf('.'))).split(":");
+
+        // El mismo payload con otro id conserva la firma original
+        String alterado = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((partes[0] + ":8:" + partes[2]).getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(tokenService.verificar(alterado + "." + firma).isEmpty());
+    }
+
+    @Test
+    void rechazaUnaFirmaAlterada() {
+        TokenService tokenService = tokenService(SECRETO, Duration.ofHours(1));
+        String token = tokenService.emitir(Sesion.CLIENTE, 7L);
+        int punto = token.indexOf('.');
+        // Se cambia el primer carácter de la firma; el último solo lleva bits de relleno en Base64
+        char primero = token.charAt(punto + 1);
+
+        assertTrue(tokenService.verificar(token.substring(0, punto + 1) + (primero == 'A' ? 'B' : 'A') + token.substring(punto + 2)).isEmpty());
+        assertTrue(tokenService.verificar(tokenService(SECRETO.replace('!', '?'), Duration.ofHours(1)).emitir(Sesion.CLIENTE, 7L)).isEmpty());
+        assertTrue(tokenService.verificar("sin-firma").isEmpty());
+    }
+
+    @Test
+    void rechazaUnSecretoCorto() {
+        assertThrows(IllegalStateException.class, () -> tokenService("corto", Duration.ofHours(1)));
+    }
+
+    @Test
+    void soloRestringeLasSesionesDeCliente() {
+        TokenService tokenService = tokenService(SECRETO, Duration.ofHours(1));
+
+        tokenService.verificarPropietario(null, () -> 8L);
+        tokenService.verificarPropietario(new Sesion(Sesion.ADMINISTRADOR, 1L), () -> 8L);
+        tokenService.verificarPropietario(new Sesion(Sesion.CLIENTE, 7L), () -> 7L);
+        ResponseStatusException ajeno = assertThrows(ResponseStatusException.class,
+                () -> tokenService.verificarPropietario(new Sesion(Sesion.CLIENTE, 7L), () -> 8L));
+        assertEquals(HttpStatus.FORBIDDEN, ajeno.getStatusCode());
+
+        tokenService.rechazarCliente(null);
+        tokenService.rechazarCliente(new Sesion(Sesion.ADMINISTRADOR, 1L));
+        ResponseStatusException listado = assertThrows(ResponseStatusException.class,
+                () -> tokenService.rechazarCliente(new Sesion(Sesion.CLIENTE, 7L)));
+        assertEquals(HttpStatus.FORBIDDEN, listado.getStatusCode());
+    }
+
+    private static TokenService tokenService(String secreto, Duration duracion) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secreto", secreto);
+        ReflectionTestUtils.setField(tokenService, "duracion", duracion);
+        tokenService.iniciar();
+        return tokenService;
+    }
+
+    private static String decodificar(String payload) {
+        return new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+    }
+
+}